@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import io.cdap.plugin.datagen.generator.GeneratorType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Specs and helpers shared by the benchmarks.
+ */
+final class Benchmarks {
+  private static final Gson GSON = new Gson();
+
+  private Benchmarks() {
+    // utility class
+  }
+
+  /**
+   * @return one of the pre-canned datasets, configured with the same defaults as {@link DataGeneratorConfig}
+   */
+  static DataGeneratorSpec spec(String dataset, int numSplits, long recordsPerSplit, String payloadType,
+                                RandomMode randomMode, int columnBatchSize) {
+    switch (dataset) {
+      case "users":
+        return DataGeneratorSpec.Users.create(numSplits, recordsPerSplit, 0, 0, payloadType, 1, 10, 0L,
+                                              randomMode, columnBatchSize);
+      case "purchases":
+        return DataGeneratorSpec.Purchases.create(numSplits, recordsPerSplit, 0, 0, 1000 * 1000, payloadType,
+                                                  1, 10, 0L, randomMode, columnBatchSize);
+    }
+    throw new IllegalArgumentException("Unsupported dataset: " + dataset);
+  }
+
+  /**
+   * @return a field that uses the given generator type with its default arguments
+   */
+  static FieldSpec field(GeneratorType type) {
+    JsonObject args;
+    switch (type) {
+      case RANDOM_CHOSEN_STRING:
+        // no default for the choices, use a small set of categories
+        args = GSON.toJsonTree(Collections.singletonMap(
+          "choices", Arrays.asList("active", "inactive", "pending", "suspended", "closed"))).getAsJsonObject();
+        break;
+      case WEIGHTED_CHOICE:
+        // no default for the weights, use the same categories with uneven weights
+        Map<String, Double> weights = new LinkedHashMap<>();
+        weights.put("active", 60d);
+        weights.put("inactive", 25d);
+        weights.put("pending", 10d);
+        weights.put("suspended", 4d);
+        weights.put("closed", 1d);
+        args = GSON.toJsonTree(Collections.singletonMap("weights", weights)).getAsJsonObject();
+        break;
+      default:
+        args = new JsonObject();
+    }
+    return new FieldSpec(type.name().toLowerCase(), type, 0, args);
+  }
+}
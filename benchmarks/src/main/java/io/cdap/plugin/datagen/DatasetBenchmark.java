@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures steady state records/sec and bytes/sec of the pre-canned datasets. The record reader is initialized once
+ * with an effectively unbounded split, so initialization cost is not included. See {@link RecordReaderBenchmark}
+ * for the full split lifecycle.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DatasetBenchmark {
+
+  @Param({"users", "purchases"})
+  public String dataset;
+
+  @Param({"RANDOM_BYTES", "RANDOM_BYTES_SLAB"})
+  public String payloadType;
+
+  @Param({"SEQUENTIAL", "COUNTER", "LEGACY"})
+  public RandomMode randomMode;
+
+  // 0 generates a record at a time
+  @Param({"0", "1024"})
+  public int columnBatchSize;
+
+  // more than one thread generates records in chunks on a pool of workers
+  @Param({"1", "4"})
+  public int generatorThreads;
+
+  private FakeDataRecordReader reader;
+
+  @Setup
+  public void setup() throws IOException {
+    DataGeneratorSpec spec = Benchmarks.spec(dataset, 1, Long.MAX_VALUE, payloadType, randomMode, columnBatchSize)
+      .withGeneratorThreads(generatorThreads);
+    TaskAttemptContext context = new TaskAttemptContextImpl(new Configuration(), new TaskAttemptID());
+    reader = new FakeDataRecordReader();
+    reader.initialize(new FakeDataInputSplit(spec, 0), context);
+  }
+
+  @TearDown
+  public void tearDown() {
+    reader.close();
+  }
+
+  @Benchmark
+  public StructuredRecord nextRecord(RecordCounters counters) throws IOException {
+    reader.nextKeyValue();
+    StructuredRecord record = reader.getCurrentValue();
+    counters.records++;
+    counters.bytes += RecordSizes.estimate(record);
+    return record;
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import io.cdap.plugin.datagen.generator.GeneratorType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many values per second each generator type can produce with its default arguments.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GeneratorBenchmark {
+
+  // no values means every GeneratorType is benchmarked
+  @Param
+  public GeneratorType type;
+
+  @Param({"SEQUENTIAL", "LEGACY"})
+  public RandomMode randomMode;
+
+  // number of distinct values that faker generators pick from, 0 creates every value with the faker
+  @Param({"0"})
+  public int dictionarySize;
+
+  private DataGenerator<?> generator;
+
+  @Setup
+  public void setup() throws IOException {
+    FieldSpec field = Benchmarks.field(type);
+    if (dictionarySize > 0) {
+      field.getArgs().addProperty("dictionarySize", dictionarySize);
+    }
+    generator = FakeDataRecordReader.createGenerator(field);
+    Random random = randomMode == RandomMode.LEGACY ? new Random(0L) : new XoroshiroRandom(0L);
+    generator.initialize(new GeneratorContext(random, SharedFakeValuesService.createFaker(random), 0L, randomMode,
+                                            0L, new EventClock(0L, EventClock.DEFAULT_RECORDS_PER_SECOND)));
+  }
+
+  @Benchmark
+  public Object generate() {
+    return generator.generate();
+  }
+
+  /**
+   * Same as {@link #generate()}, except that primitive generators are called without boxing their values.
+   */
+  @Benchmark
+  public void generateUnboxed(Blackhole blackhole) {
+    if (generator instanceof IntDataGenerator) {
+      blackhole.consume(((IntDataGenerator) generator).generateInt());
+    } else if (generator instanceof LongDataGenerator) {
+      blackhole.consume(((LongDataGenerator) generator).generateLong());
+    } else if (generator instanceof DoubleDataGenerator) {
+      blackhole.consume(((DoubleDataGenerator) generator).generateDouble());
+    } else {
+      blackhole.consume(generator.generate());
+    }
+  }
+}
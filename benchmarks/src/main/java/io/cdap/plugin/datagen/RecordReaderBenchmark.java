@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.JobID;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.task.JobContextImpl;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full lifecycle of a split as a task sees it: deserializing the split, creating and initializing the
+ * record reader, and reading every record with nextKeyValue and getCurrentValue.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class RecordReaderBenchmark {
+
+  @Param({"users", "purchases"})
+  public String dataset;
+
+  @Param({"RANDOM_BYTES", "RANDOM_BYTES_SLAB"})
+  public String payloadType;
+
+  @Param({"SEQUENTIAL", "COUNTER", "LEGACY"})
+  public RandomMode randomMode;
+
+  @Param({"1000", "100000"})
+  public long recordsPerSplit;
+
+  private FakeDataInputFormat inputFormat;
+  private TaskAttemptContext context;
+  private byte[] serializedSplit;
+
+  @Setup
+  public void setup() throws IOException {
+    DataGeneratorSpec spec = Benchmarks.spec(dataset, 1, recordsPerSplit, payloadType, randomMode, 0);
+    Configuration conf = new Configuration();
+    new FakeDataInputFormat(spec).getInputFormatConfiguration().forEach(conf::set);
+
+    inputFormat = new FakeDataInputFormat();
+    List<InputSplit> splits = inputFormat.getSplits(new JobContextImpl(conf, new JobID("generator", 0)));
+    DataOutputBuffer out = new DataOutputBuffer();
+    ((FakeDataInputSplit) splits.get(0)).write(out);
+    serializedSplit = new byte[out.getLength()];
+    System.arraycopy(out.getData(), 0, serializedSplit, 0, out.getLength());
+    context = new TaskAttemptContextImpl(conf, new TaskAttemptID());
+  }
+
+  @Benchmark
+  public void readSplit(RecordCounters counters, Blackhole blackhole) throws IOException, InterruptedException {
+    DataInputBuffer in = new DataInputBuffer();
+    in.reset(serializedSplit, serializedSplit.length);
+    FakeDataInputSplit split = new FakeDataInputSplit();
+    split.readFields(in);
+
+    try (RecordReader<Void, StructuredRecord> reader = inputFormat.createRecordReader(split, context)) {
+      reader.initialize(split, context);
+      while (reader.nextKeyValue()) {
+        StructuredRecord record = reader.getCurrentValue();
+        counters.records++;
+        counters.bytes += RecordSizes.estimate(record);
+        blackhole.consume(record);
+      }
+    }
+  }
+}
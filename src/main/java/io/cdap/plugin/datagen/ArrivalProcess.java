@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+/**
+ * How the arrival times of records are distributed when a streaming source generates records at a target rate.
+ */
+public enum ArrivalProcess {
+  /**
+   * Records arrive evenly spaced.
+   */
+  UNIFORM,
+  /**
+   * Records arrive as a Poisson process, with exponentially distributed times between arrivals.
+   */
+  POISSON,
+  /**
+   * Records arrive in bursts that are emitted all at once, followed by a pause long enough to keep the target rate.
+   */
+  BURSTY
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+/**
+ * Limits the values of a field to an exact number of distinct values across the whole dataset, by generating the
+ * value for each record from a key in [0, cardinality) instead of from the random of the record.
+ *
+ * Record r is mapped to key permute(r mod cardinality), where the permutation is keyed by the seed, the field, and
+ * how many times the records have cycled through the keys. Every run of cardinality consecutive records therefore
+ * uses every key exactly once, in a shuffled order, and the key of a record only depends on its record number. This
+ * keeps the number of distinct keys the same no matter how the records are divided into splits, without the splits
+ * having to coordinate. Records where a nullable field is null still use up their key, since
+ * {@link io.cdap.plugin.datagen.generator.NullableGenerator} seeks this generator past them.
+ *
+ * The value for a key is generated by the delegate from a random positioned at the key, after seeking the delegate
+ * to the key as if it were a record number. This makes values a function of the seed and the key, so fields that
+ * use the same generator share the same values, which keeps join keys in different datasets consistent.
+ *
+ * The number of distinct values is exactly the cardinality, or the number of records if there are fewer, as long as
+ * the delegate generates different values for different keys. Sequential generators always do, and generators with
+ * a large range of random values almost always do, but generators with fewer possible values than the cardinality
+ * will repeat values, and generators based on the clock of the machine do not depend on the key at all.
+ *
+ * @param <T> type of data to generate
+ */
+final class CardinalityGenerator<T> implements DataGenerator<T> {
+  // stream of the random used to generate values from keys, which does not collide with the stream of any field
+  private static final int KEY_STREAM = -1;
+  private final DataGenerator<T> delegate;
+  private final long cardinality;
+  private final String fieldName;
+  private CounterRandom keyRandom;
+  private FeistelPermutation permutation;
+  private long recordNum;
+  private long cycle;
+  // selects the order of the keys in the current cycle, from the permutations of the field
+  private long cycleTweak;
+
+  /**
+   * @param delegate generator that generates the value for each key
+   * @param cardinality number of distinct keys, which must be positive
+   * @param fieldName name of the field, so that fields with the same cardinality use the keys in a different order
+   */
+  CardinalityGenerator(DataGenerator<T> delegate, long cardinality, String fieldName) {
+    if (cardinality <= 0) {
+      throw new IllegalArgumentException(String.format("Cardinality of field '%s' must be positive, but is %d.",
+                                                       fieldName, cardinality));
+    }
+    this.delegate = delegate;
+    this.cardinality = cardinality;
+    this.fieldName = fieldName;
+  }
+
+  @Override
+  public void initialize(GeneratorContext context) {
+    keyRandom = new CounterRandom(context.getSeed(), KEY_STREAM);
+    delegate.initialize(new GeneratorContext(keyRandom, SharedFakeValuesService.createFaker(keyRandom), 0,
+                                             RandomMode.COUNTER, context.getSeed(), context.getEventClock()));
+    permutation = new FeistelPermutation(cardinality, FastRandom.streamSeed(context.getSeed(), fieldName.hashCode()));
+    seek(context.getOffset());
+  }
+
+  @Override
+  public void seek(long offset) {
+    recordNum = offset;
+    cycle = offset / cardinality;
+    cycleTweak = FastRandom.mix64(cycle);
+  }
+
+  @Override
+  public T generate() {
+    long recordCycle = recordNum / cardinality;
+    if (recordCycle != cycle) {
+      cycle = recordCycle;
+      cycleTweak = FastRandom.mix64(cycle);
+    }
+    long key = permutation.permute(recordNum - recordCycle * cardinality, cycleTweak);
+    recordNum++;
+    keyRandom.position(key);
+    delegate.seek(key);
+    return delegate.generate();
+  }
+
+  @Override
+  public int getFixedSize() {
+    return delegate.getFixedSize();
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import java.util.Arrays;
+
+/**
+ * A batch of generated values for a single field. Generators that can generate primitives store them in a primitive
+ * array, so a whole batch can be generated in a tight loop without boxing any values.
+ *
+ * A generator fills a batch by getting the array for its type, such as {@link #longs()}, and setting the first
+ * n elements of it. Values that should be null are marked with {@link #setNull(int)}.
+ */
+public final class ColumnVector {
+  private final int capacity;
+  private Type type;
+  private int[] ints;
+  private long[] longs;
+  private double[] doubles;
+  private Object[] objects;
+  private boolean[] nulls;
+  private boolean hasNulls;
+
+  public ColumnVector(int capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * @return maximum number of values in the batch
+   */
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * @return array to store int values in
+   */
+  public int[] ints() {
+    type = Type.INT;
+    if (ints == null) {
+      ints = new int[capacity];
+    }
+    return ints;
+  }
+
+  /**
+   * @return array to store long values in
+   */
+  public long[] longs() {
+    type = Type.LONG;
+    if (longs == null) {
+      longs = new long[capacity];
+    }
+    return longs;
+  }
+
+  /**
+   * @return array to store double values in
+   */
+  public double[] doubles() {
+    type = Type.DOUBLE;
+    if (doubles == null) {
+      doubles = new double[capacity];
+    }
+    return doubles;
+  }
+
+  /**
+   * @return array to store any other type of value in
+   */
+  public Object[] objects() {
+    type = Type.OBJECT;
+    if (objects == null) {
+      objects = new Object[capacity];
+    }
+    return objects;
+  }
+
+  /**
+   * Mark a value as null. This takes precedence over whatever value was stored for it.
+   */
+  public void setNull(int i) {
+    if (nulls == null) {
+      nulls = new boolean[capacity];
+    }
+    nulls[i] = true;
+    hasNulls = true;
+  }
+
+  public boolean isNull(int i) {
+    return hasNulls && nulls[i];
+  }
+
+  /**
+   * @return the value at the given index, boxed if it is a primitive
+   */
+  public Object get(int i) {
+    if (isNull(i)) {
+      return null;
+    }
+    if (type == null) {
+      throw new IllegalStateException("No values have been generated.");
+    }
+    switch (type) {
+      case INT:
+        return ints[i];
+      case LONG:
+        return longs[i];
+      case DOUBLE:
+        return doubles[i];
+      case OBJECT:
+        return objects[i];
+      default:
+        throw new IllegalStateException("Unknown value type " + type);
+    }
+  }
+
+  /**
+   * Clear the null markers so the vector can be filled with another batch.
+   */
+  public void reset() {
+    if (hasNulls) {
+      Arrays.fill(nulls, false);
+      hasNulls = false;
+    }
+  }
+
+  /**
+   * Which array holds the values.
+   */
+  private enum Type {
+    INT,
+    LONG,
+    DOUBLE,
+    OBJECT
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+/**
+ * A counter based random number generator. The numbers it generates for a record are a function of the seed,
+ * the stream, and the record index, so any record can be generated without generating the ones before it.
+ *
+ * Calling {@link #position(long)} derives a starting point from the key and the counter, and the numbers for that
+ * counter are then generated with SplitMix64 from that starting point.
+ */
+final class CounterRandom extends FastRandom {
+  private long key;
+  private long state;
+
+  /**
+   * @param seed the seed for the whole dataset
+   * @param stream identifies an independent sequence of numbers for the same seed, such as a field index
+   */
+  CounterRandom(long seed, int stream) {
+    super(streamSeed(seed, stream));
+  }
+
+  @Override
+  void reseed(long seed) {
+    key = mix64(seed);
+    state = key;
+  }
+
+  /**
+   * Position the generator so that the numbers it generates next are the ones for the given counter.
+   */
+  void position(long counter) {
+    clearNextGaussian();
+    state = mix64(key + counter * GOLDEN_GAMMA);
+  }
+
+  @Override
+  long nextBits() {
+    state += GOLDEN_GAMMA;
+    return mix64(state);
+  }
+}
@@ -37,4 +37,43 @@ public interface DataGenerator<T> {
    */
   T generate();
 
+  /**
+   * Generate the data for the next n records, storing it in the first n elements of the vector. This generates the
+   * same data as calling {@link #generate()} n times, unless documented otherwise, but allows generators to fill the
+   * batch in a tight loop.
+   *
+   * @param n number of values to generate
+   * @param out vector to store the values in
+   */
+  default void generateBatch(int n, ColumnVector out) {
+    Object[] values = out.objects();
+    for (int i = 0; i < n; i++) {
+      values[i] = generate();
+    }
+  }
+
+  /**
+   * Move the generator to a different record, so that the next call to {@link #generate()} generates the value for
+   * the record at the given offset. Offsets are the same as the one given by {@link GeneratorContext#getOffset()}.
+   * This is called when random numbers are generated in {@link RandomMode#COUNTER} mode, and when a streaming source
+   * moves on to the next range of records without creating new generators. Generators that do not keep track of the
+   * record they are on do not need to implement it.
+   *
+   * @param offset the record number in the entire collection
+   */
+  default void seek(long offset) {
+    // no-op
+  }
+
+  /**
+   * Returns the size of the values, if every value is the same size. This lets the size of the generated data be
+   * estimated exactly, instead of from a sample of generated values. Sizes are counted the same way as
+   * {@link RecordSizes#estimate(io.cdap.cdap.api.data.format.StructuredRecord)}, in characters for strings.
+   *
+   * @return number of bytes every non-null value takes up, or -1 if the size varies from value to value
+   */
+  default int getFixedSize() {
+    return -1;
+  }
+
 }
@@ -27,7 +27,11 @@ import io.cdap.cdap.etl.api.StageConfigurer;
 import io.cdap.cdap.etl.api.batch.BatchSource;
 import io.cdap.cdap.etl.api.batch.BatchSourceContext;
 import io.cdap.plugin.common.LineageRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.Random;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -40,6 +44,7 @@ import java.util.stream.Collectors;
 @Description("Generates test data.")
 public class DataGeneratorBatchSource extends BatchSource<Void, StructuredRecord, StructuredRecord> {
   public static final String NAME = "DataGenerator";
+  private static final Logger LOG = LoggerFactory.getLogger(DataGeneratorBatchSource.class);
   private final DataGeneratorConfig conf;
 
   public DataGeneratorBatchSource(DataGeneratorConfig conf) {
@@ -56,11 +61,25 @@ public class DataGeneratorBatchSource extends BatchSource<Void, StructuredRecord
   }
 
   @Override
-  public void prepareRun(BatchSourceContext context) {
+  public void prepareRun(BatchSourceContext context) throws IOException {
     DataGeneratorSpec spec = conf.asSpec();
     if (spec == null) {
       throw new IllegalStateException("Unsupported dataset: " + conf.getDataset());
     }
+    if (spec.getSeed() == null) {
+      // every split needs the same seed to share the dictionaries of values that are built from it
+      spec = spec.withSeed(new Random().nextLong());
+    }
+    SplitPlanner splitPlanner = spec.getSplitPlanner();
+    if (splitPlanner != null) {
+      // the engine properties are only in the job configuration of the Spark or MapReduce program, where the splits
+      // are planned, so the parallelism is resolved from the runtime arguments instead
+      spec = spec.withSplitPlanner(splitPlanner.withParallelism(context.getArguments()));
+    }
+    // event times follow a clock that starts at the logical start time of the run, so that every split and every
+    // retried task gives a record the same time
+    spec = spec.withEventClock(new EventClock(context.getLogicalStartTime(), EventClock.DEFAULT_RECORDS_PER_SECOND));
+    LOG.info("Generating {}", OutputEstimate.of(spec).explain());
     context.setInput(Input.of(conf.getReferenceName(), new FakeDataInputFormat(spec))
                        .alias(UUID.randomUUID().toString()));
 
@@ -33,7 +33,14 @@ public class DataGeneratorConfig extends PluginConfig {
   static final String DATASET = "dataset";
   static final String NUM_SPLITS = "numSplits";
   static final String RECORDS_PER_SPLIT = "recordsPerSplit";
+  static final String TOTAL_RECORDS = "totalRecords";
+  static final String TARGET_SIZE_MB = "targetSizeMB";
+  static final String SPLIT_SIZE_MB = "splitSizeMB";
+  static final String PARALLELISM = "parallelism";
   static final String SEED = "seed";
+  static final String RANDOM_MODE = "randomMode";
+  static final String COLUMN_BATCH_SIZE = "columnBatchSize";
+  static final String GENERATOR_THREADS = "generatorThreads";
   static final String CUSTOM_CONFIG = "customConfig";
 
   // general properties
@@ -53,7 +60,37 @@ public class DataGeneratorConfig extends PluginConfig {
   @Nullable
   @Name(RECORDS_PER_SPLIT)
   @Description("Number of records to output per split")
-  private Integer recordsPerSplit;
+  private Long recordsPerSplit;
+
+  @Macro
+  @Nullable
+  @Name(TOTAL_RECORDS)
+  @Description("Total number of records to generate. If set, the number of splits and records per split are " +
+    "ignored, and the splits are planned from the split size and the parallelism of the cluster instead.")
+  private Long totalRecords;
+
+  @Macro
+  @Nullable
+  @Name(TARGET_SIZE_MB)
+  @Description("Approximate total size of the records to generate, in megabytes. Used like the total number of " +
+    "records, if that is not set. The number of records is derived from the estimated size of a record.")
+  private Long targetSizeMB;
+
+  @Macro
+  @Nullable
+  @Name(SPLIT_SIZE_MB)
+  @Description("Approximate size of each split in megabytes, when the splits are planned from the total number of " +
+    "records or the target size.")
+  private Integer splitSizeMB;
+
+  @Macro
+  @Nullable
+  @Name(PARALLELISM)
+  @Description("Number of tasks that can run at the same time, when the splits are planned from the total number " +
+    "of records or the target size. There are at least this many splits, and the number of splits is a multiple of " +
+    "it. Set to 0 to read it from the 'spark.default.parallelism' or 'mapreduce.job.maps' engine properties, or to " +
+    "plan the splits by their size alone if neither is set.")
+  private Integer parallelism;
 
   @Macro
   @Nullable
@@ -61,6 +98,30 @@ public class DataGeneratorConfig extends PluginConfig {
   @Description("Seed to use for random data generation")
   private Long seed;
 
+  @Macro
+  @Nullable
+  @Name(RANDOM_MODE)
+  @Description("How random numbers are generated. 'SEQUENTIAL' draws every value of a split from a single " +
+    "generator. 'COUNTER' derives random numbers from the seed, record number and field, so the data does not " +
+    "depend on the number of splits. 'LEGACY' generates the same data for a seed as earlier versions of the plugin.")
+  private String randomMode;
+
+  @Macro
+  @Nullable
+  @Name(COLUMN_BATCH_SIZE)
+  @Description("Number of records to generate one field at a time before they are assembled into records. " +
+    "Generating a field at a time is faster, but the data is different from the data generated one record at a time, " +
+    "unless random numbers are generated in 'COUNTER' mode. Set to 0 to generate one record at a time.")
+  private Integer columnBatchSize;
+
+  @Macro
+  @Nullable
+  @Name(GENERATOR_THREADS)
+  @Description("Number of threads that generate the records of each split. With more than one thread, records are " +
+    "generated in chunks that are handed back in order, so the data still only depends on the seed. Unless random " +
+    "numbers are generated in 'COUNTER' mode, the data is different from the data generated by a single thread.")
+  private Integer generatorThreads;
+
   @SuppressWarnings("unused")
   @Macro
   @Name(DATASET)
@@ -138,8 +199,15 @@ public class DataGeneratorConfig extends PluginConfig {
 
   public DataGeneratorConfig() {
     this.numSplits = 10;
-    this.recordsPerSplit = 1000;
+    this.recordsPerSplit = 1000L;
+    this.totalRecords = null;
+    this.targetSizeMB = null;
+    this.splitSizeMB = 128;
+    this.parallelism = 0;
     this.seed = null;
+    this.randomMode = RandomMode.SEQUENTIAL.name();
+    this.columnBatchSize = 0;
+    this.generatorThreads = 1;
 
     this.usersNumSkewedIds = 0;
     this.usersSkewedIdChance = 0;
@@ -163,23 +231,60 @@ public class DataGeneratorConfig extends PluginConfig {
     return dataset;
   }
 
+  RandomMode getRandomMode() {
+    return randomMode == null ? RandomMode.SEQUENTIAL : RandomMode.valueOf(randomMode.toUpperCase());
+  }
+
+  int getColumnBatchSize() {
+    return columnBatchSize == null ? 0 : columnBatchSize;
+  }
+
+  int getGeneratorThreads() {
+    return generatorThreads == null ? 1 : generatorThreads;
+  }
+
+  /**
+   * @return the planner for the splits, or null if there is a fixed number of splits
+   */
+  @Nullable
+  SplitPlanner getSplitPlanner() {
+    if (totalRecords == null && targetSizeMB == null) {
+      return null;
+    }
+    return new SplitPlanner(totalRecords == null ? 0 : totalRecords,
+                            targetSizeMB == null ? 0 : targetSizeMB * 1024 * 1024,
+                            (splitSizeMB == null ? 128 : splitSizeMB) * 1024L * 1024,
+                            parallelism == null ? 0 : parallelism);
+  }
+
   @SuppressWarnings("ConstantConditions")
   @Nullable
   DataGeneratorSpec asSpec() {
+    RandomMode randomMode = getRandomMode();
+    int columnBatchSize = getColumnBatchSize();
+    DataGeneratorSpec spec;
     switch (dataset) {
       case "users":
-        return DataGeneratorSpec.Users.create(numSplits, recordsPerSplit, usersNumSkewedIds, usersSkewedIdChance,
-                                              usersPayloadType, usersPayloadSizeKB, usersNullChance, seed);
+        spec = DataGeneratorSpec.Users.create(numSplits, recordsPerSplit, usersNumSkewedIds, usersSkewedIdChance,
+                                              usersPayloadType, usersPayloadSizeKB, usersNullChance, seed,
+                                              randomMode, columnBatchSize);
+        break;
       case "purchases":
-        return DataGeneratorSpec.Purchases.create(numSplits, recordsPerSplit, purchasesNumSkewedUserIds,
+        spec = DataGeneratorSpec.Purchases.create(numSplits, recordsPerSplit, purchasesNumSkewedUserIds,
                                                   purchasesSkewedUserIdChance, purchasesMaxUserId,
                                                   purchasesPayloadType, purchasesPayloadSizeKB, purchasesNullChance,
-                                                  seed);
+                                                  seed, randomMode, columnBatchSize);
+        break;
       case "custom":
         FieldsSpecification fieldsSpecification = GSON.fromJson(customConfig, FieldsSpecification.class);
-        return new DataGeneratorSpec(numSplits, recordsPerSplit, fieldsSpecification.getFields(),
-                                     fieldsSpecification.getSchemaName(), seed);
+        spec = new DataGeneratorSpec(numSplits, recordsPerSplit, fieldsSpecification.getFields(),
+                                     fieldsSpecification.getSchemaName(), seed, randomMode, columnBatchSize);
+        break;
+      default:
+        return null;
     }
-    return null;
+    spec = spec.withGeneratorThreads(getGeneratorThreads());
+    SplitPlanner splitPlanner = getSplitPlanner();
+    return splitPlanner == null ? spec : spec.withSplitPlanner(splitPlanner);
   }
 }
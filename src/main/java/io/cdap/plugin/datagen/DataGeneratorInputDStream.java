@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.rdd.RDD;
+import org.apache.spark.streaming.StreamingContext;
+import org.apache.spark.streaming.Time;
+import org.apache.spark.streaming.dstream.InputDStream;
+import org.apache.spark.streaming.scheduler.RateController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.Option;
+import scala.reflect.ClassTag;
+import scala.reflect.ClassTag$;
+
+import java.util.Random;
+import javax.annotation.Nullable;
+
+/**
+ * Input stream that generates every batch directly in the tasks that process it, without receivers. Each batch is an
+ * RDD with one partition for each split of the spec. Unlike receivers, this does not permanently occupy executor
+ * cores, and records are not stored in the block manager before they are processed.
+ *
+ * Batch k covers the records that split k * numSplits + p would have if the spec had more splits, so every batch
+ * continues where the previous one left off. The batch number is derived from the batch time, so a batch generates
+ * the same data if it is recomputed.
+ *
+ * Records get their event time from a clock that starts at the time of the first batch, and runs at the rate of one
+ * batch of every split per batch interval, so the first record of each batch has the time of its batch.
+ *
+ * The stream is saved in Spark checkpoints along with the rest of the DStream graph, including the spec, its seed,
+ * and the time of the first batch. When a pipeline recovers from a checkpoint, every batch after the checkpoint
+ * regenerates exactly the same records it did before the failure. This requires the spec to have a seed, so a seed
+ * is chosen when the stream is created if the spec does not have one.
+ *
+ * When backpressure is enabled with spark.streaming.backpressure.enabled, the stream has a rate controller that
+ * estimates the rate the pipeline can sustain from the processing time of each batch. Each split then only generates
+ * its share of that rate, so a batch covers the first records of each of its splits. The rate of the first batch is
+ * set with spark.streaming.backpressure.initialRate. Since the rate depends on how fast batches were processed,
+ * batches that are recomputed after recovering from a checkpoint can have a different number of records. Spark has no
+ * public API for the rate, so it is read through {@link SparkRates}.
+ */
+final class DataGeneratorInputDStream extends InputDStream<StructuredRecord> {
+  private static final Logger LOG = LoggerFactory.getLogger(DataGeneratorInputDStream.class);
+  static final ClassTag<StructuredRecord> CLASS_TAG = ClassTag$.MODULE$.apply(StructuredRecord.class);
+
+  // the spec is kept encoded so that it is small when the stream is serialized
+  private final String encodedSpec;
+  private final int numSplits;
+  private final long recordsPerSplit;
+  private final long initialRate;
+  // estimates the rate the pipeline can sustain when backpressure is enabled
+  @Nullable
+  private final RateController rateController;
+  // time of the first batch, in milliseconds, or -1 if no batch was generated yet. This is part of the checkpointed
+  // state of the stream, so batch numbers stay the same when a pipeline recovers from a checkpoint
+  private long firstBatchMillis = -1L;
+  // spec with the event clock of the stream, which is derived from the time of the first batch
+  private transient String clockedSpec;
+
+  DataGeneratorInputDStream(StreamingContext ssc, DataGeneratorSpec spec) {
+    super(ssc, CLASS_TAG);
+    if (spec.getSeed() == null) {
+      spec = spec.withSeed(new Random().nextLong());
+      LOG.info("Generating data with seed {}", spec.getSeed());
+    }
+    this.encodedSpec = spec.encode();
+    this.numSplits = spec.getNumSplits();
+    this.recordsPerSplit = spec.getRecordsPerSplit();
+    this.initialRate = ssc.conf().getLong("spark.streaming.backpressure.initialRate", 0L);
+    this.rateController = SparkRates.createRateController(ssc, id());
+  }
+
+  @Override
+  public Option<RateController> rateController() {
+    return Option.apply(rateController);
+  }
+
+  @Override
+  public void start() {
+    // no-op, nothing is generated until a batch is computed
+  }
+
+  @Override
+  public void stop() {
+    // no-op
+  }
+
+  @Override
+  public Option<RDD<StructuredRecord>> compute(Time validTime) {
+    if (firstBatchMillis < 0) {
+      firstBatchMillis = validTime.milliseconds();
+    }
+    long batch = (validTime.milliseconds() - firstBatchMillis) / slideDuration().milliseconds();
+
+    long rate = rateController == null ? -1L : SparkRates.getLatestRate(rateController);
+    if (rate <= 0 && rateController != null) {
+      rate = initialRate;
+    }
+    long numRecords = recordsPerSplit;
+    String description = String.format("Generating %d records for each split", recordsPerSplit);
+    if (rate > 0) {
+      // the rate is for the whole stream, in records per second
+      long maxRecords = Math.max(1L, rate * slideDuration().milliseconds() / 1000L / numSplits);
+      numRecords = Math.min(recordsPerSplit, maxRecords);
+      description = String.format("Generating %d records for each split, limited by backpressure to %d records "
+                                    + "per second", numRecords, rate);
+    }
+    // report how many records the batch has, which is what the rate controller estimates the rate from
+    SparkRates.reportInput(context(), validTime, id(), numRecords * numSplits, description);
+
+    if (clockedSpec == null) {
+      double recordsPerSecond = (double) numSplits * recordsPerSplit * 1000d / slideDuration().milliseconds();
+      clockedSpec = DataGeneratorSpec.decode(encodedSpec)
+        .withEventClock(new EventClock(firstBatchMillis, recordsPerSecond))
+        .encode();
+    }
+    JavaSparkContext jsc = JavaSparkContext.fromSparkContext(context().sparkContext());
+    return Option.apply(SparkDataGenerator.generate(jsc, clockedSpec, numSplits, batch * numSplits, numRecords).rdd());
+  }
+}
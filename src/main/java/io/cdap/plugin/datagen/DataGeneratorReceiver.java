@@ -17,16 +17,7 @@
 package io.cdap.plugin.datagen;
 
 import com.google.common.util.concurrent.Uninterruptibles;
-import com.google.gson.Gson;
 import io.cdap.cdap.api.data.format.StructuredRecord;
-import org.apache.hadoop.conf.Configuration;
-import org.apache.hadoop.mapreduce.JobID;
-import org.apache.hadoop.mapreduce.RecordReader;
-import org.apache.hadoop.mapreduce.TaskAttemptContext;
-import org.apache.hadoop.mapreduce.TaskAttemptID;
-import org.apache.hadoop.mapreduce.TaskID;
-import org.apache.hadoop.mapreduce.TaskType;
-import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
 import org.apache.spark.storage.StorageLevel;
 import org.apache.spark.streaming.api.java.JavaDStream;
 import org.apache.spark.streaming.api.java.JavaStreamingContext;
@@ -35,51 +26,96 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /**
  * DStream Receiver for DataGeneration.
  */
 public class DataGeneratorReceiver extends Receiver<StructuredRecord> {
   private static final Logger LOG = LoggerFactory.getLogger(DataGeneratorReceiver.class);
-  private final String jsonSpec;
+  private final String encodedSpec;
   private final int partition;
   private final long pauseMillis;
+  // number of records to hand to Spark at a time, records are stored one at a time if this is 1 or less
+  private final int blockSize;
+  // whether each batch moves on to new records instead of generating the same split again
+  private final boolean unbounded;
+  // paces generation at a target rate instead of pausing between batches, if set
+  @Nullable
+  private final RatePacer pacer;
   private transient Thread receiverThread;
+  // batch to generate next when unbounded. This is kept when Spark restarts the receiver, so that a restarted
+  // receiver resumes with the next batch instead of starting over
+  private transient long nextBatch;
+  // rate limit that Spark last set on the receiver, and the pacer that applies it to blocks
+  private transient long sparkRateLimit;
+  private transient RatePacer sparkRatePacer;
 
-  public DataGeneratorReceiver(String jsonSpec, int partition, long pauseMillis) {
+  public DataGeneratorReceiver(String encodedSpec, int partition, long pauseMillis) {
+    this(encodedSpec, partition, pauseMillis, 0, false, null);
+  }
+
+  DataGeneratorReceiver(String encodedSpec, int partition, long pauseMillis, int blockSize, boolean unbounded,
+                        @Nullable RatePacer pacer) {
     super(StorageLevel.MEMORY_AND_DISK());
-    this.jsonSpec = jsonSpec;
+    this.encodedSpec = encodedSpec;
     this.partition = partition;
     this.pauseMillis = pauseMillis;
+    this.blockSize = blockSize;
+    this.unbounded = unbounded;
+    this.pacer = pacer;
   }
 
   @Override
   public void onStart() {
     receiverThread = new Thread(() -> {
       LOG.info("Receiver thread started for partition {}", partition);
-      DataGeneratorSpec generatorSpec = new Gson().fromJson(jsonSpec, DataGeneratorSpec.class);
-      FakeDataInputSplit inputSplit = new FakeDataInputSplit(generatorSpec, partition);
-
-      // Generate a fake TaskAttemptContext. It is not used by the FakeDataInputFormat
-      TaskID taskId = new TaskID(new JobID("generator", 0), TaskType.MAP, partition);
-      TaskAttemptContext taskAttemptContext = new TaskAttemptContextImpl(new Configuration(),
-                                                                         new TaskAttemptID(taskId, 0));
+      DataGeneratorSpec generatorSpec = DataGeneratorSpec.decode(encodedSpec);
+      // storing a block of records at a time avoids the locking and rate limiting Spark does for every single record
+      List<StructuredRecord> block = new ArrayList<>(Math.max(blockSize, 0));
+      FakeDataRecordReader reader = new FakeDataRecordReader();
+      long recordsPerSplit = generatorSpec.getRecordsPerSplit();
+      boolean initialized = false;
       while (!isStopped()) {
-        FakeDataInputFormat inputFormat = new FakeDataInputFormat(generatorSpec);
-        try (RecordReader<Void, StructuredRecord> reader = inputFormat.createRecordReader(inputSplit,
-                                                                                          taskAttemptContext)) {
-          reader.initialize(inputSplit, taskAttemptContext);
+        try {
+          // batch k covers the records of split k * numSplits + partition, as if there were more splits
+          long split = unbounded ? nextBatch * generatorSpec.getNumSplits() + partition : partition;
+          if (unbounded && initialized) {
+            reader.continueAt(split * recordsPerSplit, recordsPerSplit);
+          } else {
+            reader.initialize(generatorSpec, split * recordsPerSplit, recordsPerSplit);
+            initialized = true;
+          }
+          nextBatch++;
           while (!isStopped() && reader.nextKeyValue()) {
-            store(reader.getCurrentValue());
+            StructuredRecord record = reader.getCurrentValue();
+            if (pacer != null) {
+              pacer.acquire(record);
+            }
+            if (blockSize <= 1) {
+              store(record);
+              continue;
+            }
+            block.add(record);
+            if (block.size() >= blockSize) {
+              storeBlock(block);
+            }
+          }
+          if (!block.isEmpty() && !isStopped()) {
+            storeBlock(block);
           }
+        } catch (InterruptedIOException | InterruptedException e) {
+          // End the current stream
         } catch (IOException e) {
           throw new RuntimeException(e);
-        } catch (InterruptedException e) {
-          // End the current stream
         }
+        block.clear();
 
-        if (!isStopped()) {
+        if (pacer == null && !isStopped()) {
           try {
             TimeUnit.MILLISECONDS.sleep(pauseMillis);
           } catch (InterruptedException e) {
@@ -87,12 +123,32 @@ public class DataGeneratorReceiver extends Receiver<StructuredRecord> {
           }
         }
       }
+      reader.close();
 
       LOG.info("Receiver thread stopped for partition {}", partition);
-    });
+    }, "data-generator-receiver-" + partition);
     receiverThread.start();
   }
 
+  /**
+   * Stores a block of records, then clears it. Spark only applies the rate limit it sets on receivers for
+   * backpressure to records that are stored one at a time, so blocks wait for the rate limit here instead.
+   */
+  private void storeBlock(List<StructuredRecord> block) throws InterruptedException {
+    long rateLimit = SparkRates.getRateLimit(this);
+    if (rateLimit > 0 && rateLimit < Long.MAX_VALUE) {
+      if (rateLimit != sparkRateLimit) {
+        LOG.info("Rate of partition {} is limited to {} records per second", partition, rateLimit);
+        sparkRateLimit = rateLimit;
+        sparkRatePacer = new RatePacer(rateLimit, RateUnit.RECORDS_PER_SECOND, RateProfile.CONSTANT, 0, 0,
+                                       ArrivalProcess.UNIFORM, 0);
+      }
+      sparkRatePacer.acquire(block.size());
+    }
+    store(block.iterator());
+    block.clear();
+  }
+
   @Override
   public void onStop() {
     LOG.info("Stopping receiver thread for partition {}", partition);
@@ -105,9 +161,13 @@ public class DataGeneratorReceiver extends Receiver<StructuredRecord> {
   static JavaDStream<StructuredRecord> createPartitionedDStream(JavaStreamingContext jsc,
                                                                  int partition,
                                                                  DataGeneratorSpec spec,
-                                                                 long pauseMillis) {
+                                                                 long pauseMillis,
+                                                                 int blockSize,
+                                                                 boolean unbounded,
+                                                                 @Nullable RatePacer pacer) {
     // Turn it to String so that it can be serialized by Spark to transport to the receiver node
-    String jsonSpec = new Gson().toJson(spec);
-    return jsc.<StructuredRecord>receiverStream(new DataGeneratorReceiver(jsonSpec, partition, pauseMillis));
+    String encodedSpec = spec.encode();
+    return jsc.<StructuredRecord>receiverStream(new DataGeneratorReceiver(encodedSpec, partition, pauseMillis,
+                                                                          blockSize, unbounded, pacer));
   }
 }
@@ -17,6 +17,13 @@
 package io.cdap.plugin.datagen;
 
 import com.github.javafaker.Lorem;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import io.cdap.plugin.datagen.generator.GeneratorType;
 import io.cdap.plugin.datagen.generator.LoremGenerator;
 import io.cdap.plugin.datagen.generator.NameGenerator;
@@ -27,25 +34,74 @@ import io.cdap.plugin.datagen.generator.SemiRandomStringGenerator;
 import io.cdap.plugin.datagen.generator.SequentialLongSkewedGenerator;
 import io.cdap.plugin.datagen.generator.TimestampGenerator;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 import javax.annotation.Nullable;
 
 /**
  * Specifies what data should be generated.
  */
 class DataGeneratorSpec extends FieldsSpecification {
+  private static final Gson GSON = new Gson();
+  // specs are never modified, so every split in the JVM that is generated from the same spec can share one instance
+  private static final LoadingCache<String, DataGeneratorSpec> DECODED_SPECS = CacheBuilder.newBuilder()
+    .maximumSize(16)
+    .build(new CacheLoader<String, DataGeneratorSpec>() {
+      @Override
+      public DataGeneratorSpec load(String encoded) {
+        return parse(encoded);
+      }
+    });
   private final int numSplits;
   private final long recordsPerSplit;
   private final Long seed;
+  private final RandomMode randomMode;
+  private final int columnBatchSize;
+  private final int generatorThreads;
+  // plans the splits from a total number of records or size instead of the number of splits, if set
+  private final SplitPlanner splitPlanner;
+  // clock that gives the event time of each record, or null if it starts at the time the data is generated
+  private final EventClock eventClock;
+  // estimated size of a record, computed the first time it is needed
+  private transient volatile long recordBytes;
 
   DataGeneratorSpec(int numSplits, long recordsPerSplit, List<FieldSpec> fields,
                     @Nullable String schemaName, @Nullable Long seed) {
+    this(numSplits, recordsPerSplit, fields, schemaName, seed, null);
+  }
+
+  DataGeneratorSpec(int numSplits, long recordsPerSplit, List<FieldSpec> fields,
+                    @Nullable String schemaName, @Nullable Long seed, @Nullable RandomMode randomMode) {
+    this(numSplits, recordsPerSplit, fields, schemaName, seed, randomMode, 0);
+  }
+
+  DataGeneratorSpec(int numSplits, long recordsPerSplit, List<FieldSpec> fields, @Nullable String schemaName,
+                    @Nullable Long seed, @Nullable RandomMode randomMode, int columnBatchSize) {
+    this(numSplits, recordsPerSplit, fields, schemaName, seed, randomMode, columnBatchSize, 1, null, null);
+  }
+
+  private DataGeneratorSpec(int numSplits, long recordsPerSplit, List<FieldSpec> fields, @Nullable String schemaName,
+                            @Nullable Long seed, @Nullable RandomMode randomMode, int columnBatchSize,
+                            int generatorThreads, @Nullable SplitPlanner splitPlanner,
+                            @Nullable EventClock eventClock) {
     super(fields, schemaName);
     this.numSplits = numSplits;
     this.recordsPerSplit = recordsPerSplit;
     this.seed = seed;
+    this.randomMode = randomMode;
+    this.columnBatchSize = columnBatchSize;
+    this.generatorThreads = generatorThreads;
+    this.splitPlanner = splitPlanner;
+    this.eventClock = eventClock;
   }
 
   int getNumSplits() {
@@ -61,6 +117,149 @@ class DataGeneratorSpec extends FieldsSpecification {
     return seed;
   }
 
+  RandomMode getRandomMode() {
+    return randomMode == null ? RandomMode.SEQUENTIAL : randomMode;
+  }
+
+  /**
+   * @return number of records to generate a field at a time, or 0 to generate a record at a time
+   */
+  int getColumnBatchSize() {
+    return columnBatchSize;
+  }
+
+  /**
+   * @return number of threads that generate the records of a split
+   */
+  int getGeneratorThreads() {
+    return Math.max(1, generatorThreads);
+  }
+
+  /**
+   * @return approximate number of bytes a generated record takes up, as estimated by
+   *   {@link RecordSizes#estimate(DataGeneratorSpec, int)}
+   */
+  long getRecordBytes() throws IOException {
+    if (recordBytes == 0) {
+      recordBytes = RecordSizes.estimate(this, RecordSizes.SAMPLE_SIZE);
+    }
+    return recordBytes;
+  }
+
+  /**
+   * @return the planner for the splits, or null if there is a fixed number of splits
+   */
+  @Nullable
+  SplitPlanner getSplitPlanner() {
+    return splitPlanner;
+  }
+
+  /**
+   * @return the clock that gives the event time of each record, or null if it starts when the data is generated
+   */
+  @Nullable
+  EventClock getEventClock() {
+    return eventClock;
+  }
+
+  /**
+   * @return a copy of the spec that generates data from the given seed
+   */
+  DataGeneratorSpec withSeed(long seed) {
+    return new DataGeneratorSpec(numSplits, recordsPerSplit, getFields(), getSchemaName(), seed, randomMode,
+                                 columnBatchSize, generatorThreads, splitPlanner, eventClock);
+  }
+
+  /**
+   * @return a copy of the spec that generates the records of a split with the given number of threads
+   */
+  DataGeneratorSpec withGeneratorThreads(int generatorThreads) {
+    return new DataGeneratorSpec(numSplits, recordsPerSplit, getFields(), getSchemaName(), seed, randomMode,
+                                 columnBatchSize, generatorThreads, splitPlanner, eventClock);
+  }
+
+  /**
+   * @return a copy of the spec that plans its splits with the given planner
+   */
+  DataGeneratorSpec withSplitPlanner(SplitPlanner splitPlanner) {
+    return new DataGeneratorSpec(numSplits, recordsPerSplit, getFields(), getSchemaName(), seed, randomMode,
+                                 columnBatchSize, generatorThreads, splitPlanner, eventClock);
+  }
+
+  /**
+   * @return a copy of the spec that gives records event times from the given clock
+   */
+  DataGeneratorSpec withEventClock(EventClock eventClock) {
+    return new DataGeneratorSpec(numSplits, recordsPerSplit, getFields(), getSchemaName(), seed, randomMode,
+                                 columnBatchSize, generatorThreads, splitPlanner, eventClock);
+  }
+
+  /**
+   * Encode the spec in a compact form that can be stored as a string, such as in a Hadoop Configuration.
+   * The encoding is the length of the spec json in bytes, followed by the deflated json, all in base64.
+   * Unlike {@link java.io.DataOutput#writeUTF(String)}, there is no limit on the size of the spec.
+   */
+  String encode() {
+    byte[] json = GSON.toJson(this).getBytes(StandardCharsets.UTF_8);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + Integer.BYTES);
+    bytes.write(ByteBuffer.allocate(Integer.BYTES).putInt(json.length).array(), 0, Integer.BYTES);
+    Deflater deflater = new Deflater();
+    try {
+      deflater.setInput(json);
+      deflater.finish();
+      byte[] buffer = new byte[4096];
+      while (!deflater.finished()) {
+        bytes.write(buffer, 0, deflater.deflate(buffer));
+      }
+    } finally {
+      deflater.end();
+    }
+    return Base64.getEncoder().encodeToString(bytes.toByteArray());
+  }
+
+  /**
+   * Decode a spec created by {@link #encode()}. Specs are cached, so the same spec is only parsed once per JVM.
+   *
+   * @throws IllegalArgumentException if the spec is not valid
+   */
+  static DataGeneratorSpec decode(String encoded) {
+    try {
+      return DECODED_SPECS.getUnchecked(encoded);
+    } catch (UncheckedExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  private static DataGeneratorSpec parse(String encoded) {
+    ByteBuffer bytes = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+    int jsonLength = bytes.remaining() < Integer.BYTES ? -1 : bytes.getInt();
+    if (jsonLength < 0) {
+      throw new IllegalArgumentException("Data generator spec does not start with a valid length.");
+    }
+    byte[] json = new byte[jsonLength];
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes.array(), bytes.position(), bytes.remaining());
+      int length = 0;
+      while (length < json.length && !inflater.finished() && !inflater.needsInput()) {
+        length += inflater.inflate(json, length, json.length - length);
+      }
+      if (length != json.length) {
+        throw new IllegalArgumentException(String.format("Data generator spec is truncated, only %d of %d bytes "
+                                                           + "could be decoded.", length, json.length));
+      }
+    } catch (DataFormatException e) {
+      throw new IllegalArgumentException("Unable to decode data generator spec: " + e.getMessage(), e);
+    } finally {
+      inflater.end();
+    }
+    try {
+      return GSON.fromJson(new String(json, StandardCharsets.UTF_8), DataGeneratorSpec.class);
+    } catch (JsonParseException e) {
+      throw new IllegalArgumentException("Unable to parse data generator spec: " + e.getMessage(), e);
+    }
+  }
+
   /**
    * Pre-canned users dataset
    */
@@ -68,7 +267,7 @@ class DataGeneratorSpec extends FieldsSpecification {
 
     static DataGeneratorSpec create(int numSplits, long recordsPerSplit, int numSkewedIds,
                                     int skewedIdChance, String payloadType, int recordSizeKB, int nullChance,
-                                    @Nullable Long seed) {
+                                    @Nullable Long seed, @Nullable RandomMode randomMode, int columnBatchSize) {
       List<FieldSpec> fields = new ArrayList<>(10);
 
       fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG_SKEWED, 0,
@@ -87,7 +286,7 @@ class DataGeneratorSpec extends FieldsSpecification {
       fields.add(new FieldSpec("payload", GeneratorType.valueOf(payloadType), 0,
                                Collections.singletonMap("size", recordSizeKB * 1024)));
 
-      return new DataGeneratorSpec(numSplits, recordsPerSplit, fields, "user", seed);
+      return new DataGeneratorSpec(numSplits, recordsPerSplit, fields, "user", seed, randomMode, columnBatchSize);
     }
   }
 
@@ -98,7 +297,8 @@ class DataGeneratorSpec extends FieldsSpecification {
 
     static DataGeneratorSpec create(int numSplits, long recordsPerSplit, int numSkewedUserIds,
                                     int skewedUserIdChance, long maxUserId, String payloadType, int recordSizeKB,
-                                    int nullChance, @Nullable Long seed) {
+                                    int nullChance, @Nullable Long seed, @Nullable RandomMode randomMode,
+                                    int columnBatchSize) {
       List<FieldSpec> fields = new ArrayList<>(6);
 
       fields.add(new FieldSpec("id", GeneratorType.UUID, 0, null));
@@ -114,7 +314,8 @@ class DataGeneratorSpec extends FieldsSpecification {
       fields.add(new FieldSpec("payload", GeneratorType.valueOf(payloadType), 0,
                                Collections.singletonMap("size", recordSizeKB * 1024)));
 
-      return new DataGeneratorSpec(numSplits, recordsPerSplit, fields, "purchase", seed);
+      return new DataGeneratorSpec(numSplits, recordsPerSplit, fields, "purchase", seed, randomMode,
+                                   columnBatchSize);
     }
   }
 }
@@ -20,6 +20,7 @@ import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Macro;
 import io.cdap.cdap.api.annotation.Name;
 
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
@@ -28,20 +29,192 @@ import javax.annotation.Nullable;
  */
 public class DataGeneratorStreamingConfig extends DataGeneratorConfig {
 
+  static final String STREAMING_MODE = "streamingMode";
   static final String PAUSE_MILLIS_PER_BATCH = "pauseMillisPerBatch";
+  static final String UNBOUNDED = "unbounded";
+  static final String RECEIVER_BLOCK_SIZE = "receiverBlockSize";
+  static final String TARGET_RATE = "targetRate";
+  static final String RATE_UNIT = "rateUnit";
+  static final String RATE_PROFILE = "rateProfile";
+  static final String RAMP_SECONDS = "rampSeconds";
+  static final String RAMP_STEPS = "rampSteps";
+  static final String ARRIVAL_PROCESS = "arrivalProcess";
+  static final String BURST_SIZE = "burstSize";
+
+  @Macro
+  @Nullable
+  @Name(STREAMING_MODE)
+  @Description("How data is generated. 'RECEIVER' generates each split in a receiver, which permanently occupies an " +
+    "executor core. 'DIRECT' generates each batch in the tasks that process it, with one partition for each split. " +
+    "Only 'DIRECT' mode saves its position in checkpoints, so only it resumes where it left off after recovering " +
+    "from a checkpoint.")
+  private String streamingMode;
 
   @Macro
   @Nullable
   @Name(PAUSE_MILLIS_PER_BATCH)
-  @Description("Number of milliseconds to pause between each data batch generated")
+  @Description("Number of milliseconds to pause between each data batch generated. Only applies to 'RECEIVER' mode.")
   private Long pauseMillisPerBatch;
 
+  @Macro
+  @Nullable
+  @Name(UNBOUNDED)
+  @Description("Whether each receiver keeps generating new records. When true, every batch of a receiver continues " +
+    "the record numbers where the previous batch left off, as if there were more splits. When false, every batch " +
+    "generates the same split again. The position of receivers is not saved in checkpoints, so a pipeline that " +
+    "recovers from a checkpoint starts over from the first batch. Only applies to 'RECEIVER' mode, since every batch " +
+    "of the 'DIRECT' mode continues where the previous batch left off.")
+  private Boolean unbounded;
+
+  @Macro
+  @Nullable
+  @Name(RECEIVER_BLOCK_SIZE)
+  @Description("Number of records to hand over to Spark at a time. Storing blocks of records uses much less CPU " +
+    "than storing one record at a time. Set to 0 or 1 to store one record at a time. Only applies to 'RECEIVER' mode.")
+  private Integer receiverBlockSize;
+
+  @Macro
+  @Nullable
+  @Name(TARGET_RATE)
+  @Description("Rate to generate data at, across all splits. When set, records are generated continuously at this " +
+    "rate instead of generating a batch of records and pausing. Leave empty or set to 0 to pause between batches. " +
+    "Only applies to 'RECEIVER' mode. The rate of the 'DIRECT' mode is set with Spark backpressure instead.")
+  private Double targetRate;
+
+  @Macro
+  @Nullable
+  @Name(RATE_UNIT)
+  @Description("Unit of the target rate. One of 'RECORDS_PER_SECOND' or 'MEGABYTES_PER_SECOND'.")
+  private String rateUnit;
+
+  @Macro
+  @Nullable
+  @Name(RATE_PROFILE)
+  @Description("How the rate changes over time. 'CONSTANT' generates at the target rate from the start. 'LINEAR' " +
+    "increases the rate linearly from zero to the target rate over the ramp duration. 'STEP' increases the rate to " +
+    "the target rate in equal steps over the ramp duration. 'SINE' oscillates between half and one and a half times " +
+    "the target rate, with the ramp duration as its period.")
+  private String rateProfile;
+
+  @Macro
+  @Nullable
+  @Name(RAMP_SECONDS)
+  @Description("Duration in seconds of the ramp up to the target rate, or the period of the 'SINE' rate profile.")
+  private Long rampSeconds;
+
+  @Macro
+  @Nullable
+  @Name(RAMP_STEPS)
+  @Description("Number of steps in the ramp up to the target rate, for the 'STEP' rate profile.")
+  private Integer rampSteps;
+
+  @Macro
+  @Nullable
+  @Name(ARRIVAL_PROCESS)
+  @Description("How the arrival times of records are distributed when a target rate is set. 'UNIFORM' spaces " +
+    "records evenly. 'POISSON' generates records as a Poisson process, with exponentially distributed times between " +
+    "records. 'BURSTY' generates bursts of records all at once, followed by a pause.")
+  private String arrivalProcess;
+
+  @Macro
+  @Nullable
+  @Name(BURST_SIZE)
+  @Description("Number of records in a burst, for 'BURSTY' arrivals.")
+  private Integer burstSize;
+
   public DataGeneratorStreamingConfig() {
     super();
+    this.streamingMode = StreamingMode.RECEIVER.name();
     this.pauseMillisPerBatch = TimeUnit.SECONDS.toMillis(1);
+    this.unbounded = false;
+    this.receiverBlockSize = 0;
+    this.rateUnit = RateUnit.RECORDS_PER_SECOND.name();
+    this.rateProfile = RateProfile.CONSTANT.name();
+    this.rampSeconds = TimeUnit.MINUTES.toSeconds(1);
+    this.rampSteps = 4;
+    this.arrivalProcess = ArrivalProcess.UNIFORM.name();
+    this.burstSize = 100;
+  }
+
+  StreamingMode getStreamingMode() {
+    return streamingMode == null ? StreamingMode.RECEIVER : StreamingMode.valueOf(streamingMode.toUpperCase());
   }
 
   public long getPauseMillisPerBatch() {
     return pauseMillisPerBatch == null ? TimeUnit.SECONDS.toMillis(1) : pauseMillisPerBatch;
   }
+
+  boolean isUnbounded() {
+    return unbounded != null && unbounded;
+  }
+
+  int getReceiverBlockSize() {
+    return receiverBlockSize == null ? 0 : receiverBlockSize;
+  }
+
+  double getTargetRate() {
+    return targetRate == null ? 0d : targetRate;
+  }
+
+  RateUnit getRateUnit() {
+    return rateUnit == null ? RateUnit.RECORDS_PER_SECOND : RateUnit.valueOf(rateUnit.toUpperCase());
+  }
+
+  RateProfile getRateProfile() {
+    return rateProfile == null ? RateProfile.CONSTANT : RateProfile.valueOf(rateProfile.toUpperCase());
+  }
+
+  long getRampSeconds() {
+    return rampSeconds == null ? TimeUnit.MINUTES.toSeconds(1) : rampSeconds;
+  }
+
+  int getRampSteps() {
+    return rampSteps == null ? 4 : rampSteps;
+  }
+
+  ArrivalProcess getArrivalProcess() {
+    return arrivalProcess == null ? ArrivalProcess.UNIFORM : ArrivalProcess.valueOf(arrivalProcess.toUpperCase());
+  }
+
+  int getBurstSize() {
+    return burstSize == null ? 100 : burstSize;
+  }
+
+  /**
+   * Creates the clock that gives records their event time when they are generated by receivers. The clock runs at
+   * the target rate, without any ramp, if one is set. Otherwise, it runs at the rate of one batch of every split per
+   * pause between batches.
+   *
+   * @param spec specification of the data to generate
+   * @param startMillis time of the first record, in milliseconds since the epoch
+   */
+  EventClock createEventClock(DataGeneratorSpec spec, long startMillis) throws IOException {
+    double rate = getTargetRate();
+    double recordsPerSecond;
+    if (rate > 0 && getRateUnit() == RateUnit.RECORDS_PER_SECOND) {
+      recordsPerSecond = rate;
+    } else if (rate > 0) {
+      recordsPerSecond = rate * getRateUnit().getPermitsPerUnit() / spec.getRecordBytes();
+    } else {
+      recordsPerSecond = (double) spec.getNumSplits() * spec.getRecordsPerSplit() * 1000d
+        / Math.max(1L, getPauseMillisPerBatch());
+    }
+    return new EventClock(startMillis, recordsPerSecond);
+  }
+
+  /**
+   * Creates a pacer for one of the partitions of the source, which generates its share of the target rate.
+   *
+   * @param numPartitions number of partitions that generate data concurrently
+   * @return the pacer, or null if no target rate is set and data should be generated in batches with pauses
+   */
+  @Nullable
+  RatePacer createPacer(int numPartitions) {
+    double rate = getTargetRate();
+    if (rate <= 0) {
+      return null;
+    }
+    return new RatePacer(rate / numPartitions, getRateUnit(), getRateProfile(), getRampSeconds(), getRampSteps(),
+                         getArrivalProcess(), getBurstSize());
+  }
 }
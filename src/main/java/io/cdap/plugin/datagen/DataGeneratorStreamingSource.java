@@ -28,10 +28,13 @@ import io.cdap.cdap.etl.api.streaming.StreamingSource;
 import io.cdap.cdap.etl.api.streaming.StreamingSourceContext;
 import io.cdap.plugin.common.LineageRecorder;
 import org.apache.spark.streaming.api.java.JavaDStream;
+import org.apache.spark.streaming.api.java.JavaInputDStream;
 import org.apache.spark.streaming.api.java.JavaStreamingContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -54,17 +57,34 @@ public class DataGeneratorStreamingSource extends StreamingSource<StructuredReco
   }
 
   @Override
-  public JavaDStream<StructuredRecord> getStream(StreamingContext ssc) {
+  public JavaDStream<StructuredRecord> getStream(StreamingContext ssc) throws IOException {
     DataGeneratorSpec spec = conf.asSpec();
     if (spec == null) {
       throw new IllegalStateException("Missing data generator specification");
     }
+    if (spec.getSeed() == null) {
+      // every split needs the same seed to share the dictionaries of values that are built from it, and every
+      // receiver of an unbounded stream generates a different part of the same data
+      spec = spec.withSeed(new Random().nextLong());
+      LOG.info("Generating data with seed {}", spec.getSeed());
+    }
 
     JavaStreamingContext jsc = ssc.getSparkStreamingContext();
+    if (conf.getStreamingMode() == StreamingMode.DIRECT) {
+      return JavaInputDStream.fromInputDStream(new DataGeneratorInputDStream(jsc.ssc(), spec),
+                                               DataGeneratorInputDStream.CLASS_TAG);
+    }
 
-    return IntStream.range(0, spec.getNumSplits())
+    // the clock is part of the receivers, which are saved in checkpoints, so records get the same event time when
+    // they are generated again after recovering from a checkpoint
+    DataGeneratorSpec receiverSpec = spec.withEventClock(conf.createEventClock(spec, System.currentTimeMillis()));
+    return IntStream.range(0, receiverSpec.getNumSplits())
       .mapToObj(partition ->
-                  DataGeneratorReceiver.createPartitionedDStream(jsc, partition, spec, conf.getPauseMillisPerBatch()))
+                  DataGeneratorReceiver.createPartitionedDStream(jsc, partition, receiverSpec,
+                                                                 conf.getPauseMillisPerBatch(),
+                                                                 conf.getReceiverBlockSize(),
+                                                                 conf.isUnbounded(),
+                                                                 conf.createPacer(receiverSpec.getNumSplits())))
       .reduce(JavaDStream::union)
       .orElseThrow(() -> new IllegalStateException("Empty split"));
   }
@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+/**
+ * The clock of a stream of generated events, which gives the time of each record as a function of its record number.
+ * Records are spread evenly over time at a fixed rate from a start time, so the time of a record is the same no
+ * matter when or on which executor it is generated, including when it is generated again after a failure.
+ */
+public final class EventClock {
+  // rate of the clock when there is nothing to derive it from, such as in a batch pipeline
+  static final double DEFAULT_RECORDS_PER_SECOND = 1000d;
+  private final long startMillis;
+  private final double recordsPerSecond;
+
+  /**
+   * @param startMillis time of the first record in the entire collection, in milliseconds since the epoch
+   * @param recordsPerSecond number of records per second of event time, which must be positive
+   */
+  EventClock(long startMillis, double recordsPerSecond) {
+    if (!(recordsPerSecond > 0)) {
+      throw new IllegalArgumentException(String.format("Rate of the event clock must be positive, but is %f.",
+                                                       recordsPerSecond));
+    }
+    this.startMillis = startMillis;
+    this.recordsPerSecond = recordsPerSecond;
+  }
+
+  public long getStartMillis() {
+    return startMillis;
+  }
+
+  public double getRecordsPerSecond() {
+    return recordsPerSecond;
+  }
+
+  /**
+   * @param recordNum record number in the entire collection
+   * @return time of the record, in milliseconds since the epoch
+   */
+  public long getMillis(long recordNum) {
+    return startMillis + (long) (recordNum * 1000d / recordsPerSecond);
+  }
+}
@@ -16,15 +16,16 @@
 
 package io.cdap.plugin.datagen;
 
-import com.google.gson.Gson;
 import io.cdap.cdap.api.data.batch.InputFormatProvider;
 import io.cdap.cdap.api.data.format.StructuredRecord;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.mapreduce.InputFormat;
 import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.JobContext;
 import org.apache.hadoop.mapreduce.RecordReader;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -34,7 +35,6 @@ import java.util.Map;
  * InputFormat that generates fake data.
  */
 public class FakeDataInputFormat extends InputFormat<Void, StructuredRecord> implements InputFormatProvider {
-  private static final Gson GSON = new Gson();
   private static final String CONFIG = "io.cdap.plugin.datagen.conf";
   private DataGeneratorSpec spec;
 
@@ -47,9 +47,28 @@ public class FakeDataInputFormat extends InputFormat<Void, StructuredRecord> imp
     this.spec = spec;
   }
 
+  /**
+   * @return the spec stored in the job configuration
+   * @throws IOException if the configuration does not contain a valid spec
+   */
+  static DataGeneratorSpec getSpec(Configuration conf) throws IOException {
+    String encodedSpec = conf.get(CONFIG);
+    if (encodedSpec == null) {
+      throw new IOException("The data generator spec is missing from the job configuration.");
+    }
+    try {
+      return DataGeneratorSpec.decode(encodedSpec);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Unable to read the data generator spec from the job configuration.", e);
+    }
+  }
+
   @Override
-  public List<InputSplit> getSplits(JobContext jobContext) {
-    spec = GSON.fromJson(jobContext.getConfiguration().get(CONFIG), DataGeneratorSpec.class);
+  public List<InputSplit> getSplits(JobContext jobContext) throws IOException {
+    spec = getSpec(jobContext.getConfiguration());
+    if (spec.getSplitPlanner() != null) {
+      return spec.getSplitPlanner().plan(spec);
+    }
     List<InputSplit> splits = new ArrayList<>(spec.getNumSplits());
     for (int i = 0; i < spec.getNumSplits(); i++) {
       splits.add(new FakeDataInputSplit(spec, i));
@@ -70,6 +89,6 @@ public class FakeDataInputFormat extends InputFormat<Void, StructuredRecord> imp
 
   @Override
   public Map<String, String> getInputFormatConfiguration() {
-    return Collections.singletonMap(CONFIG, GSON.toJson(spec));
+    return Collections.singletonMap(CONFIG, spec.encode());
   }
 }
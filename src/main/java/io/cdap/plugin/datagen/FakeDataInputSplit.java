@@ -16,36 +16,67 @@
 
 package io.cdap.plugin.datagen;
 
-import com.google.gson.Gson;
 import org.apache.hadoop.io.Writable;
 import org.apache.hadoop.mapreduce.InputSplit;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import javax.annotation.Nullable;
 
 /**
  * An input split for fake data.
+ *
+ * Only the split number and size are serialized. The spec is the same for every split, so it is distributed once
+ * for the whole job through the job configuration instead of with each split.
  */
 public class FakeDataInputSplit extends InputSplit implements Writable {
-  private static final Gson GSON = new Gson();
   private int splitNum;
-  private DataGeneratorSpec spec;
+  private long offset;
+  private long numRecords;
+  // estimated number of bytes of the records of the split
+  private long length;
+  // only available when the split was not deserialized
+  private transient DataGeneratorSpec spec;
 
   @SuppressWarnings("unused")
   public FakeDataInputSplit() {
     // required for mapreduce deserialization
   }
 
-  FakeDataInputSplit(DataGeneratorSpec spec, int splitNum) {
+  FakeDataInputSplit(DataGeneratorSpec spec, int splitNum) throws IOException {
+    this(spec, splitNum, splitNum * spec.getRecordsPerSplit(), spec.getRecordsPerSplit());
+  }
+
+  FakeDataInputSplit(DataGeneratorSpec spec, int splitNum, long offset, long numRecords) throws IOException {
     this.spec = spec;
     this.splitNum = splitNum;
+    this.offset = offset;
+    this.numRecords = numRecords;
+    long recordBytes = spec.getRecordBytes();
+    this.length = numRecords > Long.MAX_VALUE / recordBytes ? Long.MAX_VALUE : numRecords * recordBytes;
   }
 
   int getSplitNum() {
     return splitNum;
   }
 
+  /**
+   * @return record number of the first record of the split, in the entire collection
+   */
+  long getOffset() {
+    return offset;
+  }
+
+  long getNumRecords() {
+    return numRecords;
+  }
+
+  /**
+   * @return the spec of the split, or null if the split was deserialized, in which case the spec must be read from
+   *   the job configuration
+   */
+  @Nullable
   DataGeneratorSpec getSpec() {
     return spec;
   }
@@ -53,19 +84,26 @@ public class FakeDataInputSplit extends InputSplit implements Writable {
   @Override
   public void write(DataOutput dataOutput) throws IOException {
     dataOutput.writeInt(splitNum);
-    dataOutput.writeUTF(GSON.toJson(spec));
+    dataOutput.writeLong(offset);
+    dataOutput.writeLong(numRecords);
+    dataOutput.writeLong(length);
   }
 
   @Override
   public void readFields(DataInput dataInput) throws IOException {
     splitNum = dataInput.readInt();
-    String specStr = dataInput.readUTF();
-    spec = GSON.fromJson(specStr, DataGeneratorSpec.class);
+    offset = dataInput.readLong();
+    numRecords = dataInput.readLong();
+    length = dataInput.readLong();
+    spec = null;
   }
 
+  /**
+   * @return estimated number of bytes the records of the split take up, so that splits can be sized and balanced
+   */
   @Override
   public long getLength() {
-    return spec.getRecordsPerSplit();
+    return length;
   }
 
   @Override
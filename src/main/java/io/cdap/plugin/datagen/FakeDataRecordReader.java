@@ -16,17 +16,17 @@
 
 package io.cdap.plugin.datagen;
 
+import com.github.javafaker.Faker;
 import com.google.gson.Gson;
 import io.cdap.cdap.api.data.format.StructuredRecord;
-import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.plugin.datagen.generator.NullableGenerator;
 import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.RecordReader;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -36,53 +36,224 @@ import java.util.Random;
 public class FakeDataRecordReader extends RecordReader<Void, StructuredRecord> {
   private static final Gson GSON = new Gson();
   private DataGeneratorSpec spec;
+  private long offset;
+  private long numRecords;
   private long recordCount = 0;
-  // this is ordered so that the same seed will always generate the same data
-  private List<FieldDataGenerator<?>> generators;
-  private Schema schema;
+  private RecordPlan plan;
+  // seed of the data, and the randoms the generators draw from if they are seeded at the start of each range
+  private long seed;
+  private Random[] randoms;
+  // range of records in the last batch generated by the plan, if records are generated a batch at a time
+  private long batchStart;
+  private int batchLength;
+  // generates the records on a pool of threads instead of the plan, if the spec asks for more than one thread
+  private ParallelRecordGenerator parallel;
+  private StructuredRecord current;
 
   @Override
   public void initialize(InputSplit inputSplit, TaskAttemptContext taskAttemptContext) throws IOException {
-    this.recordCount = 0;
     FakeDataInputSplit split = (FakeDataInputSplit) inputSplit;
-    this.spec = split.getSpec();
-    this.schema = spec.getSchema();
-    this.generators = new ArrayList<>();
-    long offset = split.getSplitNum() * spec.getRecordsPerSplit();
-    Random random = spec.getSeed() == null ? new Random() : new Random(spec.getSeed() + offset);
-    for (FieldSpec fieldSpec : spec.getFields()) {
-      String fieldName = fieldSpec.getName();
-
-      Class<? extends DataGenerator> genClass = fieldSpec.getType().getGeneratorClass();
-      Class<?> confClass = fieldSpec.getType().getConfigClass();
-      try {
-        DataGenerator<?> generator;
-        if (confClass == null) {
-          generator = genClass.newInstance();
-        } else {
-          Object conf = GSON.fromJson(fieldSpec.getArgs(), confClass);
-          if (conf == null) {
-            conf = confClass.newInstance();
-          }
-          generator = genClass.getConstructor(confClass).newInstance(conf);
-        }
-        if (fieldSpec.getNullChance() > 0) {
-          generator = new NullableGenerator<>(generator, fieldSpec.getNullChance());
+    DataGeneratorSpec spec = split.getSpec();
+    if (spec == null) {
+      spec = FakeDataInputFormat.getSpec(taskAttemptContext.getConfiguration());
+    }
+    initialize(spec, split.getOffset(), split.getNumRecords());
+  }
+
+  /**
+   * Initialize the reader to generate a range of records.
+   *
+   * @param spec specification of the data to generate
+   * @param offset record number of the first record to generate, in the entire collection
+   * @param numRecords number of records to generate
+   */
+  void initialize(DataGeneratorSpec spec, long offset, long numRecords) throws IOException {
+    if (spec != this.spec) {
+      // the workers of a parallel generator can only be kept for another range of the same spec. Decoded specs are
+      // shared, so a reader that is initialized again with the same spec keeps its workers
+      close();
+    }
+    this.spec = spec;
+    this.offset = offset;
+    this.numRecords = numRecords;
+    this.recordCount = 0;
+    this.batchLength = 0;
+    if (spec.getGeneratorThreads() > 1) {
+      if (parallel == null) {
+        parallel = new ParallelRecordGenerator(spec, spec.getGeneratorThreads());
+      }
+      parallel.start(offset, numRecords);
+      return;
+    }
+    close();
+    List<FieldSpec> fields = spec.getFields();
+    DataGenerator<?>[] generators = new DataGenerator<?>[fields.size()];
+    int columnBatchSize = Math.max(0, spec.getColumnBatchSize());
+    seed = spec.getSeed() == null ? new Random().nextLong() : spec.getSeed();
+    randoms = null;
+    EventClock eventClock = spec.getEventClock() == null
+      ? new EventClock(System.currentTimeMillis(), EventClock.DEFAULT_RECORDS_PER_SECOND) : spec.getEventClock();
+
+    if (spec.getRandomMode() == RandomMode.COUNTER) {
+      CounterRandom[] counterRandoms = new CounterRandom[fields.size()];
+      for (int i = 0; i < fields.size(); i++) {
+        counterRandoms[i] = new CounterRandom(seed, i);
+        // each field gets its own faker so that it only draws from the random of the field
+        GeneratorContext context = new GeneratorContext(counterRandoms[i],
+                                                         SharedFakeValuesService.createFaker(counterRandoms[i]),
+                                                         offset, RandomMode.COUNTER, seed, eventClock);
+        generators[i] = createGenerator(fields.get(i));
+        generators[i].initialize(context);
+      }
+      plan = new RecordPlan(spec.getSchema(), fields, generators, counterRandoms, columnBatchSize);
+      return;
+    }
+
+    if (columnBatchSize > 0) {
+      // fields are generated one after the other, so each one needs its own random for the data to only depend on
+      // the seed and the batch size
+      randoms = new Random[fields.size()];
+      for (int i = 0; i < fields.size(); i++) {
+        Random random = createRandom(spec.getRandomMode(), FastRandom.streamSeed(seed + offset, i));
+        randoms[i] = random;
+        GeneratorContext context = new GeneratorContext(random, SharedFakeValuesService.createFaker(random), offset,
+                                                         spec.getRandomMode(), seed, eventClock);
+        generators[i] = createGenerator(fields.get(i));
+        generators[i].initialize(context);
+      }
+    } else {
+      Random random = createRandom(spec.getRandomMode(), seed + offset);
+      randoms = new Random[] { random };
+      // all generators draw from the same random, so they can share a faker instead of each creating their own
+      Faker faker = SharedFakeValuesService.createFaker(random);
+      GeneratorContext context = new GeneratorContext(random, faker, offset, spec.getRandomMode(), seed, eventClock);
+      for (int i = 0; i < fields.size(); i++) {
+        generators[i] = createGenerator(fields.get(i));
+        generators[i].initialize(context);
+      }
+    }
+    plan = new RecordPlan(spec.getSchema(), fields, generators, null, columnBatchSize);
+  }
+
+  private static Random createRandom(RandomMode randomMode, long seed) {
+    if (randomMode == RandomMode.LEGACY) {
+      return new Random(seed);
+    }
+    // a split is only read by a single thread, so there is no need for the synchronization done by Random
+    return new XoroshiroRandom(seed);
+  }
+
+  /**
+   * Move the reader to a different record in its range, so that the next call to {@link #nextKeyValue()} moves to
+   * the record at the given offset. This makes it possible to generate any record directly, without generating the
+   * records before it, and is only supported in {@link RandomMode#COUNTER} mode.
+   *
+   * @param offset record number in the entire collection
+   */
+  void seek(long offset) {
+    if (spec.getRandomMode() != RandomMode.COUNTER) {
+      throw new IllegalStateException("Seeking is only supported when random numbers are generated in "
+                                        + RandomMode.COUNTER + " mode.");
+    }
+    if (offset < this.offset || offset > this.offset + numRecords) {
+      throw new IllegalArgumentException(String.format("Offset %d is outside of the range [%d, %d).",
+                                                       offset, this.offset, this.offset + numRecords));
+    }
+    recordCount = offset - this.offset;
+    batchLength = 0;
+    if (parallel != null) {
+      parallel.start(offset, numRecords - recordCount);
+      return;
+    }
+    plan.seek(offset);
+  }
+
+  /**
+   * Move the reader to a new range of records, without creating new generators. This is used to keep generating new
+   * records in a stream. In {@link RandomMode#COUNTER} mode, the records are the same as the records of a reader
+   * initialized with the range. In other modes, random numbers continue from where the previous range left off, so
+   * the records only depend on the seed and the ranges the reader went through. When records are generated by more
+   * than one thread, each range is generated the same way as a reader initialized with the range.
+   *
+   * @param offset record number of the first record to generate, in the entire collection
+   * @param numRecords number of records to generate
+   */
+  void continueAt(long offset, long numRecords) {
+    this.offset = offset;
+    this.numRecords = numRecords;
+    this.recordCount = 0;
+    this.batchLength = 0;
+    if (parallel != null) {
+      parallel.start(offset, numRecords);
+      return;
+    }
+    plan.seek(offset);
+  }
+
+  /**
+   * Move the reader to a new range of records, without creating new generators, and reseed the random numbers the
+   * same way as a reader initialized with the range. Unlike {@link #continueAt(long, long)}, the records of the range
+   * then only depend on the seed and the range, except for anything the generators set up when they were initialized.
+   * In {@link RandomMode#COUNTER} mode, random numbers already only depend on the record, so this is the same as
+   * {@link #continueAt(long, long)}.
+   *
+   * @param offset record number of the first record to generate, in the entire collection
+   * @param numRecords number of records to generate
+   */
+  void restartAt(long offset, long numRecords) {
+    if (randoms != null && plan.getColumnBatchSize() > 0) {
+      for (int i = 0; i < randoms.length; i++) {
+        randoms[i].setSeed(FastRandom.streamSeed(seed + offset, i));
+      }
+    } else if (randoms != null) {
+      randoms[0].setSeed(seed + offset);
+    }
+    continueAt(offset, numRecords);
+  }
+
+  /**
+   * Creates the generator for a field, wrapped so that it generates a limited number of distinct values if the field
+   * has a cardinality, and nulls if the field is nullable.
+   * The generator still needs to be initialized before it is used.
+   */
+  static DataGenerator<?> createGenerator(FieldSpec fieldSpec) throws IOException {
+    Class<? extends DataGenerator> genClass = fieldSpec.getType().getGeneratorClass();
+    Class<?> confClass = fieldSpec.getType().getConfigClass();
+    try {
+      DataGenerator<?> generator;
+      if (confClass == null) {
+        generator = genClass.newInstance();
+      } else {
+        Object conf = GSON.fromJson(fieldSpec.getArgs(), confClass);
+        if (conf == null) {
+          conf = confClass.newInstance();
         }
-        generator.initialize(new GeneratorContext(random, offset));
-        generators.add(new FieldDataGenerator<>(fieldName, generator));
-      } catch (NoSuchMethodException | InvocationTargetException | InstantiationException | IllegalAccessException e) {
-        // should never happen
-        throw new IOException(String.format("Unable to create '%s' generator for field '%s'",
-                                            fieldSpec.getType(), fieldName), e);
+        generator = genClass.getConstructor(confClass).newInstance(conf);
+      }
+      if (fieldSpec.getCardinality() != 0) {
+        generator = new CardinalityGenerator<>(generator, fieldSpec.getCardinality(), fieldSpec.getName());
+      }
+      if (fieldSpec.getNullChance() > 0) {
+        generator = new NullableGenerator<>(generator, fieldSpec.getNullChance());
       }
+      return generator;
+    } catch (NoSuchMethodException | InvocationTargetException | InstantiationException | IllegalAccessException e) {
+      // should never happen
+      throw new IOException(String.format("Unable to create '%s' generator for field '%s'",
+                                          fieldSpec.getType(), fieldSpec.getName()), e);
     }
   }
 
+  /**
+   * @throws InterruptedIOException if the thread is interrupted while waiting for records generated by other threads
+   */
   @Override
-  public boolean nextKeyValue() {
-    boolean hasNext = recordCount < spec.getRecordsPerSplit();
+  public boolean nextKeyValue() throws IOException {
+    boolean hasNext = recordCount < numRecords;
     recordCount++;
+    if (hasNext && parallel != null) {
+      current = parallel.next();
+    }
     return hasNext;
   }
 
@@ -93,35 +264,31 @@ public class FakeDataRecordReader extends RecordReader<Void, StructuredRecord> {
 
   @Override
   public StructuredRecord getCurrentValue() {
-    StructuredRecord.Builder builder = StructuredRecord.builder(schema);
-    for (FieldDataGenerator<?> generator : generators) {
-      builder.set(generator.fieldName, generator.generator.generate());
+    if (parallel != null) {
+      return current;
+    }
+    long current = offset + recordCount - 1;
+    if (plan.getColumnBatchSize() == 0) {
+      return plan.generate(current);
     }
-    return builder.build();
+    if (current < batchStart || current >= batchStart + batchLength) {
+      batchStart = current;
+      batchLength = (int) Math.min(plan.getColumnBatchSize(), offset + numRecords - current);
+      plan.generateBatch(batchStart, batchLength);
+    }
+    return plan.assemble((int) (current - batchStart));
   }
 
   @Override
   public float getProgress() {
-    return (float) recordCount / spec.getRecordsPerSplit();
+    return (float) recordCount / numRecords;
   }
 
   @Override
   public void close() {
-    // no-op
-  }
-
-  /**
-   * Field and data generator pair.
-   *
-   * @param <T> type of data to generate.
-   */
-  private static class FieldDataGenerator<T> {
-    private final String fieldName;
-    private final DataGenerator<T> generator;
-
-    private FieldDataGenerator(String fieldName, DataGenerator<T> generator) {
-      this.fieldName = fieldName;
-      this.generator = generator;
+    if (parallel != null) {
+      parallel.close();
+      parallel = null;
     }
   }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import java.util.Random;
+
+/**
+ * Base class for random number generators that are not thread safe.
+ *
+ * {@link Random} keeps its state in an AtomicLong so that it can be shared across threads, which means every draw
+ * pays for a compare-and-swap. Generators for a split are only ever used by a single thread, so subclasses keep
+ * their state in plain fields and only need to provide 64 random bits at a time. All the other methods are
+ * implemented on top of those bits.
+ */
+abstract class FastRandom extends Random {
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+  private static final float FLOAT_UNIT = 0x1.0p-24f;
+  // the golden ratio as a 64 bit fraction, used as the increment of SplitMix64
+  static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  private double nextNextGaussian;
+  private boolean haveNextNextGaussian;
+
+  FastRandom(long seed) {
+    // calls setSeed(seed)
+    super(seed);
+  }
+
+  /**
+   * @return the next 64 random bits
+   */
+  abstract long nextBits();
+
+  /**
+   * Set the state of the generator from a seed. This is called from the {@link Random} constructor, before any
+   * field initializers in the subclass are run, so subclasses should not use them.
+   */
+  abstract void reseed(long seed);
+
+  @Override
+  public void setSeed(long seed) {
+    clearNextGaussian();
+    reseed(seed);
+  }
+
+  /**
+   * Discard the second gaussian that was generated by the last call to {@link #nextGaussian()}, so that the next
+   * call only depends on the current state of the generator.
+   */
+  void clearNextGaussian() {
+    haveNextNextGaussian = false;
+  }
+
+  @Override
+  protected int next(int bits) {
+    return (int) (nextBits() >>> (64 - bits));
+  }
+
+  @Override
+  public int nextInt() {
+    return (int) (nextBits() >>> 32);
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("bound must be positive");
+    }
+    // Lemire's multiply and shift method, which only needs a division in the rare case that the value is biased
+    long m = (nextBits() >>> 32) * bound;
+    long low = m & 0xFFFFFFFFL;
+    if (low < bound) {
+      long threshold = (0x100000000L - bound) % bound;
+      while (low < threshold) {
+        m = (nextBits() >>> 32) * bound;
+        low = m & 0xFFFFFFFFL;
+      }
+    }
+    return (int) (m >>> 32);
+  }
+
+  @Override
+  public long nextLong() {
+    return nextBits();
+  }
+
+  @Override
+  public boolean nextBoolean() {
+    return nextBits() < 0;
+  }
+
+  @Override
+  public float nextFloat() {
+    return (nextBits() >>> 40) * FLOAT_UNIT;
+  }
+
+  @Override
+  public double nextDouble() {
+    return (nextBits() >>> 11) * DOUBLE_UNIT;
+  }
+
+  @Override
+  public void nextBytes(byte[] bytes) {
+    int i = 0;
+    int len = bytes.length;
+    while (i < len) {
+      long bits = nextBits();
+      for (int n = Math.min(len - i, 8); n > 0; n--) {
+        bytes[i++] = (byte) bits;
+        bits >>>= 8;
+      }
+    }
+  }
+
+  @Override
+  public double nextGaussian() {
+    // same polar method as Random, without the synchronization
+    if (haveNextNextGaussian) {
+      haveNextNextGaussian = false;
+      return nextNextGaussian;
+    }
+    double v1;
+    double v2;
+    double s;
+    do {
+      v1 = 2 * nextDouble() - 1;
+      v2 = 2 * nextDouble() - 1;
+      s = v1 * v1 + v2 * v2;
+    } while (s >= 1 || s == 0);
+    double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+    nextNextGaussian = v2 * multiplier;
+    haveNextNextGaussian = true;
+    return v1 * multiplier;
+  }
+
+  /**
+   * Derives the seed of an independent sequence of numbers from a seed, such as one sequence for each field.
+   */
+  static long streamSeed(long seed, int stream) {
+    return seed + mix64((stream + 1L) * GOLDEN_GAMMA);
+  }
+
+  /**
+   * The SplitMix64 finalizer. It is a bijection on longs that mixes every input bit into every output bit.
+   */
+  static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
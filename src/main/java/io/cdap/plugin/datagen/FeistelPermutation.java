@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+/**
+ * A keyed pseudo-random permutation of the numbers in [0, size). Each number is mapped to a different number in the
+ * same range in constant time, without storing the permutation, so it can be used to shuffle very large ranges.
+ *
+ * Numbers are encrypted with a balanced Feistel network over the smallest even number of bits that covers the
+ * range, which is a bijection on those bits. Results that fall outside of the range are encrypted again until they
+ * fall inside it, which keeps it a bijection on the range. The network covers less than four times the range, so
+ * this takes less than four rounds of encryption on average.
+ */
+public final class FeistelPermutation {
+  private static final int ROUNDS = 4;
+  private final long size;
+  private final int halfBits;
+  private final long halfMask;
+  private final long[] roundKeys;
+
+  /**
+   * @param size number of numbers in the range, which must be positive
+   * @param key key that selects the permutation
+   */
+  public FeistelPermutation(long size, long key) {
+    if (size <= 0) {
+      throw new IllegalArgumentException(String.format("Size of the permutation must be positive, but is %d.", size));
+    }
+    int bits = Math.max(2, Long.SIZE - Long.numberOfLeadingZeros(size - 1));
+    this.size = size;
+    this.halfBits = (bits + 1) / 2;
+    this.halfMask = (1L << halfBits) - 1;
+    this.roundKeys = new long[ROUNDS];
+    for (int i = 0; i < ROUNDS; i++) {
+      roundKeys[i] = FastRandom.streamSeed(key, i);
+    }
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * @param index number in [0, size)
+   * @return the number the index is mapped to, also in [0, size)
+   */
+  public long permute(long index) {
+    return permute(index, 0L);
+  }
+
+  /**
+   * Maps a number with one of a family of permutations of the key, without creating a permutation for each of them.
+   * Every tweak selects a different permutation, and a tweak of 0 selects the same permutation as
+   * {@link #permute(long)}.
+   *
+   * @param index number in [0, size)
+   * @param tweak value that selects the permutation of the family
+   * @return the number the index is mapped to, also in [0, size)
+   */
+  public long permute(long index, long tweak) {
+    if (index < 0 || index >= size) {
+      throw new IllegalArgumentException(String.format("Index %d is outside of the range [0, %d).", index, size));
+    }
+    long value = index;
+    do {
+      value = encrypt(value, tweak);
+    } while (Long.compareUnsigned(value, size) >= 0);
+    return value;
+  }
+
+  private long encrypt(long value, long tweak) {
+    long left = value >>> halfBits;
+    long right = value & halfMask;
+    for (long roundKey : roundKeys) {
+      long next = left ^ (FastRandom.mix64(right ^ roundKey ^ tweak) & halfMask);
+      left = right;
+      right = next;
+    }
+    return (left << halfBits) | right;
+  }
+}
@@ -28,16 +28,27 @@ public class FieldSpec {
   private final String name;
   private final GeneratorType type;
   private final int nullChance;
+  // number of distinct values the field takes across the whole dataset, or 0 if it is not limited
+  private final long cardinality;
   private final JsonObject args;
 
   FieldSpec(String name, GeneratorType type, int nullChance, Object args) {
-    this(name, type, nullChance, GSON.toJsonTree(args).getAsJsonObject());
+    this(name, type, nullChance, 0, args);
+  }
+
+  FieldSpec(String name, GeneratorType type, int nullChance, long cardinality, Object args) {
+    this(name, type, nullChance, cardinality, GSON.toJsonTree(args).getAsJsonObject());
   }
 
   FieldSpec(String name, GeneratorType type, int nullChance, JsonObject args) {
+    this(name, type, nullChance, 0, args);
+  }
+
+  FieldSpec(String name, GeneratorType type, int nullChance, long cardinality, JsonObject args) {
     this.name = name;
     this.type = type;
     this.nullChance = nullChance;
+    this.cardinality = cardinality;
     this.args = args;
   }
 
@@ -53,6 +64,13 @@ public class FieldSpec {
     return nullChance;
   }
 
+  /**
+   * @return number of distinct non-null values the field takes across the whole dataset, or 0 if it is not limited
+   */
+  public long getCardinality() {
+    return cardinality;
+  }
+
   public JsonObject getArgs() {
     return args;
   }
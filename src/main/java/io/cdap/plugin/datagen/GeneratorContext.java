@@ -27,11 +27,18 @@ public class GeneratorContext {
   private final Random random;
   private final Faker faker;
   private final long offset;
+  private final RandomMode randomMode;
+  private final long seed;
+  private final EventClock eventClock;
 
-  GeneratorContext(Random random, long offset) {
+  GeneratorContext(Random random, Faker faker, long offset, RandomMode randomMode, long seed,
+                   EventClock eventClock) {
     this.random = random;
-    this.faker = new Faker(random);
+    this.faker = faker;
     this.offset = offset;
+    this.randomMode = randomMode;
+    this.seed = seed;
+    this.eventClock = eventClock;
   }
 
   /**
@@ -43,6 +50,32 @@ public class GeneratorContext {
     return offset;
   }
 
+  /**
+   * @return how random numbers are generated. In {@link RandomMode#COUNTER} mode, each field has its own random
+   *   number generator that the framework positions before each record, and generators may be moved to a different
+   *   record with {@link DataGenerator#seek(long)}.
+   */
+  public RandomMode getRandomMode() {
+    return randomMode;
+  }
+
+  /**
+   * @return the seed of the data. Unlike {@link #getRandom()}, which is seeded differently for each split, this is
+   *   the same for every split that generates data from the same seed, so it can be used to create data that is
+   *   shared by all the splits.
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * @return the clock that gives the event time of each record. Like {@link #getSeed()}, it is the same for every
+   *   split, so generators should derive times from it instead of from the clock of the machine they run on.
+   */
+  public EventClock getEventClock() {
+    return eventClock;
+  }
+
   /**
    * @return random number generator to use for generating random data. It will be initialized to a specific seed
    *   by the framework.
@@ -54,7 +87,7 @@ public class GeneratorContext {
   /**
    * @return faker for generating different types of fake data. The faker will generate the same pseudo-random data
    *   based on the seed set by the framework and thus should be used instead of manually creating separate instances
-   *   of Faker.
+   *   of Faker. The faker uses the same random number generator as {@link #getRandom()}.
    */
   public Faker getFaker() {
     return faker;
@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+/**
+ * Generates integers without boxing them.
+ * Callers that can store a primitive int should call {@link #generateInt()} instead of {@link #generate()}.
+ */
+public interface IntDataGenerator extends DataGenerator<Integer> {
+
+  /**
+   * @return some generated data
+   */
+  int generateInt();
+
+  @Override
+  default Integer generate() {
+    return generateInt();
+  }
+
+  @Override
+  default void generateBatch(int n, ColumnVector out) {
+    int[] values = out.ints();
+    for (int i = 0; i < n; i++) {
+      values[i] = generateInt();
+    }
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+/**
+ * Generates longs without boxing them.
+ * Callers that can store a primitive long should call {@link #generateLong()} instead of {@link #generate()}.
+ */
+public interface LongDataGenerator extends DataGenerator<Long> {
+
+  /**
+   * @return some generated data
+   */
+  long generateLong();
+
+  @Override
+  default Long generate() {
+    return generateLong();
+  }
+
+  @Override
+  default void generateBatch(int n, ColumnVector out) {
+    long[] values = out.longs();
+    for (int i = 0; i < n; i++) {
+      values[i] = generateLong();
+    }
+  }
+}
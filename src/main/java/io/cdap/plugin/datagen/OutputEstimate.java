@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Projected size of the data generated from a spec, so that the size of a run is known before it starts.
+ */
+final class OutputEstimate {
+  private static final String[] UNITS = { "bytes", "KB", "MB", "GB", "TB", "PB", "EB" };
+  private final List<FieldSpec> fields;
+  private final double[] fieldBytes;
+  private final long recordBytes;
+  private final long numRecords;
+  private final long recordsPerSplit;
+  // number of splits, or 0 if the splits are planned when the job runs
+  private final long numSplits;
+
+  private OutputEstimate(List<FieldSpec> fields, double[] fieldBytes, long recordBytes, long numRecords,
+                         long recordsPerSplit, long numSplits) {
+    this.fields = fields;
+    this.fieldBytes = fieldBytes;
+    this.recordBytes = recordBytes;
+    this.numRecords = numRecords;
+    this.recordsPerSplit = recordsPerSplit;
+    this.numSplits = numSplits;
+  }
+
+  /**
+   * @return the projected size of the data generated from the spec
+   * @throws IOException if the generators could not be created to estimate the size of the fields
+   */
+  static OutputEstimate of(DataGeneratorSpec spec) throws IOException {
+    double[] fieldBytes = RecordSizes.estimateFields(spec, RecordSizes.SAMPLE_SIZE);
+    long recordBytes = spec.getRecordBytes();
+    SplitPlanner splitPlanner = spec.getSplitPlanner();
+    if (splitPlanner == null) {
+      long numRecords = spec.getNumSplits() * spec.getRecordsPerSplit();
+      return new OutputEstimate(spec.getFields(), fieldBytes, recordBytes, numRecords, spec.getRecordsPerSplit(),
+                                spec.getNumSplits());
+    }
+    return new OutputEstimate(spec.getFields(), fieldBytes, recordBytes, splitPlanner.getNumRecords(recordBytes),
+                              splitPlanner.getRecordsPerSplit(recordBytes), 0);
+  }
+
+  /**
+   * @return approximate number of bytes a record takes up
+   */
+  long getRecordBytes() {
+    return recordBytes;
+  }
+
+  /**
+   * @return approximate number of bytes the given field takes up on average, counting null values as 0 bytes
+   */
+  double getFieldBytes(int field) {
+    return fieldBytes[field];
+  }
+
+  long getNumRecords() {
+    return numRecords;
+  }
+
+  /**
+   * @return approximate number of bytes all the records take up
+   */
+  long getTotalBytes() {
+    return numRecords > Long.MAX_VALUE / recordBytes ? Long.MAX_VALUE : numRecords * recordBytes;
+  }
+
+  /**
+   * @return a description of the projected output, with the size of every field on a line of its own
+   */
+  String explain() {
+    StringBuilder explanation = new StringBuilder();
+    explanation.append(String.format(Locale.ROOT, "%d records of about %d bytes, %s in total", numRecords,
+                                     recordBytes, format(getTotalBytes())));
+    if (numSplits > 0) {
+      explanation.append(String.format(Locale.ROOT, ", in %d splits of %d records (%s).", numSplits,
+                                       recordsPerSplit, format(recordsPerSplit * recordBytes)));
+    } else {
+      explanation.append(String.format(Locale.ROOT, ", in splits of up to %d records (%s), planned when the job "
+                                         + "runs.", recordsPerSplit, format(recordsPerSplit * recordBytes)));
+    }
+    for (int i = 0; i < fields.size(); i++) {
+      FieldSpec field = fields.get(i);
+      explanation.append(String.format(Locale.ROOT, "%n  %s (%s): %.1f bytes", field.getName(), field.getType(),
+                                       fieldBytes[i]));
+    }
+    return explanation.toString();
+  }
+
+  private static String format(long bytes) {
+    int unit = 0;
+    double size = bytes;
+    while (size >= 1024 && unit < UNITS.length - 1) {
+      size /= 1024;
+      unit++;
+    }
+    return unit == 0 ? bytes + " bytes" : String.format(Locale.ROOT, "%.1f %s", size, UNITS[unit]);
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+
+import java.io.Closeable;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Generates a range of records on a pool of threads. The range is divided into chunks of {@link #CHUNK_SIZE}
+ * records, and random numbers are seeded at the start of each chunk as if it were a range of its own, so its records
+ * only depend on the seed and the position of the chunk. Worker w generates chunks w, w + numThreads,
+ * w + 2 * numThreads, and so on, and hands them over through a small queue of its own. Chunks are read from the
+ * queues in turn, so records come back in the same order no matter which worker finishes first.
+ *
+ * Each worker has a reader of its own that is initialized once, at the start of the first range, and is then moved
+ * from chunk to chunk. This keeps generators that are expensive to set up, such as ones that fill a block of bytes or
+ * read a file, from being set up again for every chunk. Since every worker sets up its generators for the same
+ * range, the records do not depend on the number of threads either.
+ */
+final class ParallelRecordGenerator implements Closeable {
+  static final int CHUNK_SIZE = 4096;
+  // number of generated chunks each worker can have waiting to be read before it stops and waits
+  private static final int QUEUED_CHUNKS = 2;
+  private final DataGeneratorSpec spec;
+  private final int numThreads;
+  private final ThreadPoolExecutor executor;
+  private final List<Future<?>> workers;
+  // reader of each worker, which is only used while holding its lock so that a worker that was cancelled but has
+  // not stopped yet is never using it at the same time as the worker that replaced it
+  private final FakeDataRecordReader[] readers;
+  private final boolean[] initialized;
+  private List<BlockingQueue<Chunk>> queues;
+  private long chunkNum;
+  private Iterator<StructuredRecord> chunk;
+
+  /**
+   * @param spec specification of the data to generate, which is generated by each worker in a single thread
+   * @param numThreads number of worker threads
+   */
+  ParallelRecordGenerator(DataGeneratorSpec spec, int numThreads) {
+    // every worker and every chunk must generate data from the same seed
+    DataGeneratorSpec workerSpec = spec.withGeneratorThreads(1);
+    this.spec = workerSpec.getSeed() == null ? workerSpec.withSeed(new Random().nextLong()) : workerSpec;
+    this.numThreads = numThreads;
+    // idle workers time out, so that threads do not linger if the generator is dropped without being closed
+    this.executor = new ThreadPoolExecutor(numThreads, numThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                                           new ThreadFactoryBuilder()
+                                             .setNameFormat("data-generator-worker-%d")
+                                             .setDaemon(true)
+                                             .build());
+    this.executor.allowCoreThreadTimeOut(true);
+    this.workers = new ArrayList<>(numThreads);
+    this.readers = new FakeDataRecordReader[numThreads];
+    this.initialized = new boolean[numThreads];
+    for (int i = 0; i < numThreads; i++) {
+      readers[i] = new FakeDataRecordReader();
+    }
+    this.chunk = Collections.emptyIterator();
+  }
+
+  /**
+   * Start generating a range of records, abandoning any range that was being generated before.
+   *
+   * @param offset record number of the first record to generate, in the entire collection
+   * @param numRecords number of records to generate
+   */
+  void start(long offset, long numRecords) {
+    stopWorkers();
+    long numChunks = numRecords / CHUNK_SIZE + (numRecords % CHUNK_SIZE == 0 ? 0 : 1);
+    // every range gets new queues, so that chunks from workers that are still being stopped are never read
+    queues = new ArrayList<>(numThreads);
+    for (int i = 0; i < numThreads; i++) {
+      BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(QUEUED_CHUNKS);
+      int worker = i;
+      queues.add(queue);
+      workers.add(executor.submit(() -> generate(worker, queue, numChunks, offset, numRecords)));
+    }
+    chunkNum = 0;
+    chunk = Collections.emptyIterator();
+  }
+
+  private void generate(int worker, BlockingQueue<Chunk> queue, long numChunks, long offset, long numRecords) {
+    FakeDataRecordReader reader = readers[worker];
+    synchronized (reader) {
+      if (Thread.currentThread().isInterrupted()) {
+        // cancelled while waiting for the worker this one replaced
+        return;
+      }
+      generate(worker, reader, queue, numChunks, offset, numRecords);
+    }
+  }
+
+  private void generate(int worker, FakeDataRecordReader reader, BlockingQueue<Chunk> queue, long numChunks,
+                        long offset, long numRecords) {
+    try {
+      if (!initialized[worker]) {
+        reader.initialize(spec, offset, numRecords);
+        initialized[worker] = true;
+      }
+      for (long i = worker; i < numChunks; i += numThreads) {
+        long chunkStart = i * CHUNK_SIZE;
+        int chunkLength = (int) Math.min(CHUNK_SIZE, numRecords - chunkStart);
+        reader.restartAt(offset + chunkStart, chunkLength);
+        List<StructuredRecord> records = new ArrayList<>(chunkLength);
+        while (reader.nextKeyValue()) {
+          records.add(reader.getCurrentValue());
+        }
+        queue.put(new Chunk(records, null));
+      }
+    } catch (InterruptedException e) {
+      // stopped because the range was abandoned or the generator was closed
+    } catch (Exception e) {
+      try {
+        queue.put(new Chunk(null, e));
+      } catch (InterruptedException ie) {
+        // stopped, so there is no one left to report the failure to
+      }
+    }
+  }
+
+  /**
+   * Returns the next record of the range. Must not be called more times than there are records in the range.
+   *
+   * @return the next record
+   * @throws InterruptedIOException if the thread was interrupted while waiting for the record
+   */
+  StructuredRecord next() throws InterruptedIOException {
+    while (!chunk.hasNext()) {
+      Chunk next;
+      try {
+        next = queues.get((int) (chunkNum % numThreads)).take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for generated records.");
+      }
+      if (next.failure != null) {
+        throw Throwables.propagate(next.failure);
+      }
+      chunkNum++;
+      chunk = next.records.iterator();
+    }
+    return chunk.next();
+  }
+
+  private void stopWorkers() {
+    for (Future<?> worker : workers) {
+      worker.cancel(true);
+    }
+    workers.clear();
+  }
+
+  @Override
+  public void close() {
+    stopWorkers();
+    executor.shutdownNow();
+  }
+
+  /**
+   * Records generated by a worker, or the failure that stopped it.
+   */
+  private static final class Chunk {
+    private final List<StructuredRecord> records;
+    private final Exception failure;
+
+    private Chunk(@Nullable List<StructuredRecord> records, @Nullable Exception failure) {
+      this.records = records;
+      this.failure = failure;
+    }
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+/**
+ * How random numbers are generated for a dataset.
+ */
+public enum RandomMode {
+  /**
+   * Each split uses a single random number generator, seeded with the split offset, that every field draws from in
+   * order. Generating a record requires generating all the records before it in the split.
+   */
+  SEQUENTIAL,
+  /**
+   * Random numbers are a function of the seed, the record index, and the field index. Any record can be generated
+   * without generating the ones before it, and the data does not depend on how records are divided into splits.
+   */
+  COUNTER,
+  /**
+   * Same as {@link #SEQUENTIAL}, except that the random number generator is a {@link java.util.Random}.
+   * This is slower, but generates exactly the same data for a seed as versions that did not have a random mode.
+   */
+  LEGACY
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import com.google.common.base.Ticker;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces record generation so that records are generated at a target rate, which can change over time according to a
+ * {@link RateProfile}. Instead of tracking the rate at every moment, the pacer computes how many permits the profile
+ * allows since the pacer started, and waits whenever more permits than that have been acquired. A permit is a record
+ * or a byte, depending on the {@link RateUnit}.
+ *
+ * Within the rate, the arrival times of records follow an {@link ArrivalProcess}. For Poisson arrivals, each permit
+ * costs an exponentially distributed amount, so the time between records varies while the average rate stays the
+ * same. For bursty arrivals, the permits of a burst are only paced once the whole burst was emitted.
+ *
+ * If generation falls behind the profile, for example because the receiver was blocked, the pacer only lets it catch
+ * up by a second worth of permits, so that the source does not burst far above the target rate.
+ *
+ * The pacer logs the rate it achieved at regular intervals.
+ */
+class RatePacer implements Serializable {
+  private static final Logger LOG = LoggerFactory.getLogger(RatePacer.class);
+  private static final long serialVersionUID = 1L;
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+  // waits shorter than this are carried over to the next permit, since sleeping for them costs more than they last
+  private static final long MIN_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  // waits are capped so that the rate is re-evaluated regularly when the profile changes it
+  private static final long MAX_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final double MAX_BURST_SECONDS = 1d;
+  private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+  private final double permitsPerSecond;
+  private final RateUnit unit;
+  private final RateProfile profile;
+  private final double rampSeconds;
+  private final int rampSteps;
+  private final ArrivalProcess arrivalProcess;
+  private final int burstSize;
+
+  private transient Ticker ticker;
+  private transient boolean started;
+  private transient long startNanos;
+  // permits the pacer waited for, which can differ from the permits used for non uniform arrivals
+  private transient double acquired;
+  private transient double used;
+  private transient long burstPermits;
+  private transient int burstRecords;
+  private transient long lastReportNanos;
+  private transient double lastReportUsed;
+
+  /**
+   * @param rate target rate, in the given unit
+   * @param unit unit of the rate
+   * @param profile how the rate changes over time
+   * @param rampSeconds duration of the ramp, or the period of the {@link RateProfile#SINE} profile
+   * @param rampSteps number of steps of the {@link RateProfile#STEP} profile
+   * @param arrivalProcess how arrival times are distributed
+   * @param burstSize number of records in a burst, for {@link ArrivalProcess#BURSTY} arrivals
+   */
+  RatePacer(double rate, RateUnit unit, RateProfile profile, long rampSeconds, int rampSteps,
+            ArrivalProcess arrivalProcess, int burstSize) {
+    this(rate, unit, profile, rampSeconds, rampSteps, arrivalProcess, burstSize, Ticker.systemTicker());
+  }
+
+  RatePacer(double rate, RateUnit unit, RateProfile profile, long rampSeconds, int rampSteps,
+            ArrivalProcess arrivalProcess, int burstSize, Ticker ticker) {
+    if (rate <= 0) {
+      throw new IllegalArgumentException(String.format("Target rate must be positive, but is %s.", rate));
+    }
+    if (profile != RateProfile.CONSTANT && rampSeconds <= 0) {
+      throw new IllegalArgumentException(String.format(
+        "Ramp duration must be positive for the %s rate profile, but is %d seconds.", profile, rampSeconds));
+    }
+    if (profile == RateProfile.STEP && rampSteps <= 0) {
+      throw new IllegalArgumentException(String.format(
+        "Number of ramp steps must be positive for the %s rate profile, but is %d.", profile, rampSteps));
+    }
+    if (arrivalProcess == ArrivalProcess.BURSTY && burstSize <= 0) {
+      throw new IllegalArgumentException(String.format(
+        "Burst size must be positive for %s arrivals, but is %d.", arrivalProcess, burstSize));
+    }
+    this.permitsPerSecond = rate * unit.getPermitsPerUnit();
+    this.unit = unit;
+    this.profile = profile;
+    this.rampSeconds = rampSeconds;
+    this.rampSteps = rampSteps;
+    this.arrivalProcess = arrivalProcess;
+    this.burstSize = burstSize;
+    this.ticker = ticker;
+  }
+
+  /**
+   * Waits until the record can be emitted without exceeding the target rate.
+   */
+  void acquire(StructuredRecord record) throws InterruptedException {
+    acquire(unit == RateUnit.RECORDS_PER_SECOND ? 1L : RecordSizes.estimate(record));
+  }
+
+  /**
+   * Waits until the given number of permits can be used without exceeding the target rate.
+   */
+  void acquire(long permits) throws InterruptedException {
+    used += permits;
+    double cost = permits;
+    switch (arrivalProcess) {
+      case POISSON:
+        cost = permits * -Math.log(1d - ThreadLocalRandom.current().nextDouble());
+        break;
+      case BURSTY:
+        burstPermits += permits;
+        if (++burstRecords < burstSize) {
+          return;
+        }
+        cost = burstPermits;
+        burstPermits = 0;
+        burstRecords = 0;
+        break;
+      default:
+        // uniform arrivals cost exactly the permits they use
+        break;
+    }
+    pace(cost);
+  }
+
+  private void pace(double cost) throws InterruptedException {
+    if (ticker == null) {
+      // the ticker is not serialized along with the pacer
+      ticker = Ticker.systemTicker();
+    }
+    long now = ticker.read();
+    if (!started) {
+      started = true;
+      startNanos = now;
+      lastReportNanos = now;
+    }
+
+    double seconds = (now - startNanos) / NANOS_PER_SECOND;
+    acquired = Math.max(acquired, allowedPermits(seconds) - rateAt(seconds) * MAX_BURST_SECONDS);
+    acquired += cost;
+
+    double deficit = acquired - allowedPermits(seconds);
+    while (deficit > 0) {
+      double rate = rateAt(seconds);
+      long waitNanos = rate > 0 ? (long) (deficit / rate * NANOS_PER_SECOND) : MAX_SLEEP_NANOS;
+      if (waitNanos < MIN_SLEEP_NANOS) {
+        break;
+      }
+      sleep(Math.min(waitNanos, MAX_SLEEP_NANOS));
+      now = ticker.read();
+      seconds = (now - startNanos) / NANOS_PER_SECOND;
+      deficit = acquired - allowedPermits(seconds);
+    }
+
+    if (now - lastReportNanos >= REPORT_INTERVAL_NANOS) {
+      double elapsed = (now - lastReportNanos) / NANOS_PER_SECOND;
+      double achieved = (used - lastReportUsed) / unit.getPermitsPerUnit() / elapsed;
+      LOG.info("Generated {} {} over the last {} seconds, the target is currently {} {}.",
+               String.format("%.2f", achieved), unit, String.format("%.1f", elapsed),
+               String.format("%.2f", rateAt(seconds) / unit.getPermitsPerUnit()), unit);
+      lastReportNanos = now;
+      lastReportUsed = used;
+    }
+  }
+
+  void sleep(long nanos) throws InterruptedException {
+    TimeUnit.NANOSECONDS.sleep(nanos);
+  }
+
+  /**
+   * @return the rate, in permits per second, at the given number of seconds after the pacer started
+   */
+  double rateAt(double seconds) {
+    switch (profile) {
+      case LINEAR:
+        return permitsPerSecond * Math.min(1d, seconds / rampSeconds);
+      case STEP:
+        double stepSeconds = rampSeconds / rampSteps;
+        return permitsPerSecond * Math.min(rampSteps, Math.floor(seconds / stepSeconds) + 1) / rampSteps;
+      case SINE:
+        return permitsPerSecond * (1d + 0.5d * Math.sin(2 * Math.PI * seconds / rampSeconds));
+      default:
+        return permitsPerSecond;
+    }
+  }
+
+  /**
+   * @return total number of permits the profile allows from the start of the pacer until the given number of seconds
+   *   after it, which is the integral of {@link #rateAt(double)}
+   */
+  double allowedPermits(double seconds) {
+    switch (profile) {
+      case LINEAR:
+        if (seconds < rampSeconds) {
+          return permitsPerSecond * seconds * seconds / (2 * rampSeconds);
+        }
+        return permitsPerSecond * (seconds - rampSeconds / 2);
+      case STEP:
+        double stepSeconds = rampSeconds / rampSteps;
+        if (seconds < rampSeconds) {
+          long steps = (long) Math.floor(seconds / stepSeconds);
+          // each completed step k allowed k / rampSteps of the rate for a step, the current one is partially done
+          double completed = permitsPerSecond * stepSeconds / rampSteps * steps * (steps + 1) / 2;
+          return completed + permitsPerSecond * (steps + 1) / rampSteps * (seconds - steps * stepSeconds);
+        }
+        return permitsPerSecond * (seconds - rampSeconds + stepSeconds * (rampSteps + 1) / 2);
+      case SINE:
+        return permitsPerSecond * (seconds + rampSeconds / (4 * Math.PI)
+          * (1d - Math.cos(2 * Math.PI * seconds / rampSeconds)));
+      default:
+        return permitsPerSecond * seconds;
+    }
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+/**
+ * How the target rate of a streaming source changes over time.
+ */
+public enum RateProfile {
+  /**
+   * Records are generated at the target rate from the start.
+   */
+  CONSTANT,
+  /**
+   * The rate increases linearly from zero to the target rate over the ramp duration, then stays at the target rate.
+   */
+  LINEAR,
+  /**
+   * The rate increases to the target rate in equal steps that evenly divide the ramp duration, then stays at the
+   * target rate.
+   */
+  STEP,
+  /**
+   * The rate oscillates between half and one and a half times the target rate, with the ramp duration as its period.
+   * On average, records are generated at the target rate.
+   */
+  SINE
+}
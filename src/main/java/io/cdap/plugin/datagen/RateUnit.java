@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+/**
+ * Unit of the target rate of a streaming source.
+ */
+public enum RateUnit {
+  RECORDS_PER_SECOND(1L),
+  MEGABYTES_PER_SECOND(1024L * 1024L);
+
+  private final long permitsPerUnit;
+
+  RateUnit(long permitsPerUnit) {
+    this.permitsPerUnit = permitsPerUnit;
+  }
+
+  /**
+   * @return number of permits that make up a unit, where a permit is a record or a byte
+   */
+  long getPermitsPerUnit() {
+    return permitsPerUnit;
+  }
+}
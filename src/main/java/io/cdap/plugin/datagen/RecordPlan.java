@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * The fields of a record, compiled once so that generating a record only has to walk over arrays.
+ * Each field's name, generator, and random are resolved by position, and the generators are checked against the
+ * output schema when the plan is created instead of when each value is set.
+ *
+ * Records can either be generated one at a time, or a batch at a time by generating all the values of one field
+ * before moving on to the next, then assembling the records from those columns.
+ */
+final class RecordPlan {
+  private final Schema schema;
+  // field names are the instances from the schema, so looking them up in the schema is an identity comparison
+  private final String[] names;
+  // this is ordered so that the same seed will always generate the same data
+  private final DataGenerator<?>[] generators;
+  private final CounterRandom[] randoms;
+  private final ColumnVector[] columns;
+
+  /**
+   * Create a plan that generates records for the given schema.
+   *
+   * @param schema schema of the records to generate
+   * @param fields specification of each field in the schema, in the same order as the schema
+   * @param generators initialized generator for each field, in the same order as the fields
+   * @param randoms random used by each generator if each field has its own, in the same order as the fields
+   * @param columnBatchSize number of records in a batch, or 0 if records are only generated one at a time
+   * @throws IllegalArgumentException if the fields do not match the schema
+   */
+  RecordPlan(Schema schema, List<FieldSpec> fields, DataGenerator<?>[] generators,
+             @Nullable CounterRandom[] randoms, int columnBatchSize) {
+    List<Schema.Field> schemaFields = schema.getFields();
+    if (schemaFields == null || schemaFields.size() != fields.size()) {
+      throw new IllegalArgumentException(String.format("Schema '%s' does not have the %d fields to generate.",
+                                                       schema.getRecordName(), fields.size()));
+    }
+    this.schema = schema;
+    this.names = new String[fields.size()];
+    this.generators = generators;
+    this.randoms = randoms;
+    this.columns = columnBatchSize > 0 ? new ColumnVector[fields.size()] : null;
+
+    for (int i = 0; i < names.length; i++) {
+      FieldSpec fieldSpec = fields.get(i);
+      Schema.Field field = schemaFields.get(i);
+      if (!field.getName().equals(fieldSpec.getName())) {
+        throw new IllegalArgumentException(String.format("Field '%s' is at position %d in the schema instead of '%s'.",
+                                                         field.getName(), i, fieldSpec.getName()));
+      }
+      Schema fieldSchema = field.getSchema();
+      if (fieldSpec.getNullChance() > 0 && !fieldSchema.isNullable()) {
+        throw new IllegalArgumentException(String.format("Field '%s' can be null, but is not nullable in the schema.",
+                                                         field.getName()));
+      }
+      Schema nonNullable = fieldSchema.isNullable() ? fieldSchema.getNonNullable() : fieldSchema;
+      if (!nonNullable.equals(fieldSpec.getType().getSchema())) {
+        throw new IllegalArgumentException(String.format("Field '%s' is of type '%s' in the schema, but the %s "
+                                                           + "generator generates type '%s'.",
+                                                         field.getName(), nonNullable.getDisplayName(),
+                                                         fieldSpec.getType(),
+                                                         fieldSpec.getType().getSchema().getDisplayName()));
+      }
+      names[i] = field.getName();
+      if (columns != null) {
+        columns[i] = new ColumnVector(columnBatchSize);
+      }
+    }
+  }
+
+  /**
+   * @return number of records in a batch, or 0 if records are generated one at a time
+   */
+  int getColumnBatchSize() {
+    return columns == null ? 0 : columns[0].capacity();
+  }
+
+  /**
+   * @param recordNum record number in the entire collection of the record to generate
+   * @return the generated record
+   */
+  StructuredRecord generate(long recordNum) {
+    StructuredRecord.Builder builder = StructuredRecord.builder(schema);
+    for (int i = 0; i < names.length; i++) {
+      if (randoms != null) {
+        randoms[i].position(recordNum);
+      }
+      builder.set(names[i], generators[i].generate());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Generate a batch of records, one field at a time. The records can then be read with {@link #assemble(int)}.
+   *
+   * @param firstRecordNum record number in the entire collection of the first record in the batch
+   * @param n number of records in the batch. Must not be more than the column batch size.
+   */
+  void generateBatch(long firstRecordNum, int n) {
+    for (int i = 0; i < columns.length; i++) {
+      ColumnVector column = columns[i];
+      column.reset();
+      if (randoms == null) {
+        generators[i].generateBatch(n, column);
+        continue;
+      }
+      // every value needs its random positioned at its own record, so values are generated the same way as they are
+      // when generating one record at a time
+      Object[] values = column.objects();
+      for (int j = 0; j < n; j++) {
+        randoms[i].position(firstRecordNum + j);
+        values[j] = generators[i].generate();
+      }
+    }
+  }
+
+  /**
+   * @param row index of the record in the last generated batch
+   * @return the record
+   */
+  StructuredRecord assemble(int row) {
+    StructuredRecord.Builder builder = StructuredRecord.builder(schema);
+    for (int i = 0; i < names.length; i++) {
+      builder.set(names[i], columns[i].get(row));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Move every generator to a different record.
+   *
+   * @param offset the record number in the entire collection
+   * @see DataGenerator#seek(long)
+   */
+  void seek(long offset) {
+    for (DataGenerator<?> generator : generators) {
+      generator.seek(offset);
+    }
+  }
+}
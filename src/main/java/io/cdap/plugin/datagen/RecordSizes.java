@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Estimates how large generated records are.
+ */
+final class RecordSizes {
+  // number of records generated to estimate the size of fields whose values vary in size
+  static final int SAMPLE_SIZE = 100;
+
+  private RecordSizes() {
+    // utility class
+  }
+
+  /**
+   * @return approximate number of bytes a record generated from the spec takes up on average, at least 1
+   * @see #estimateFields(DataGeneratorSpec, int)
+   */
+  static long estimate(DataGeneratorSpec spec, int sampleSize) throws IOException {
+    double size = 0;
+    for (double fieldSize : estimateFields(spec, sampleSize)) {
+      size += fieldSize;
+    }
+    return Math.max(1, Math.round(size));
+  }
+
+  /**
+   * Estimates how many bytes each field of the records generated from a spec takes up on average. Fields whose
+   * generator always generates values of the same size, and fields of a fixed width type, are estimated exactly.
+   * Other fields are estimated from the non-null values of a sample of generated records. Either way, the size is
+   * then scaled down by the chance of the field being null.
+   *
+   * @param sampleSize number of records to generate if any field needs to be sampled
+   * @return average number of bytes of each field, in the order of the fields of the spec
+   */
+  static double[] estimateFields(DataGeneratorSpec spec, int sampleSize) throws IOException {
+    List<FieldSpec> fields = spec.getFields();
+    double[] sizes = new double[fields.size()];
+    boolean sample = false;
+    for (int i = 0; i < sizes.length; i++) {
+      sizes[i] = getFixedSize(fields.get(i));
+      sample |= sizes[i] < 0;
+    }
+    if (sample) {
+      long[] sampledBytes = new long[sizes.length];
+      int[] sampledValues = new int[sizes.length];
+      FakeDataRecordReader reader = new FakeDataRecordReader();
+      reader.initialize(spec.withGeneratorThreads(1), 0, sampleSize);
+      while (reader.nextKeyValue()) {
+        StructuredRecord record = reader.getCurrentValue();
+        for (int i = 0; i < sizes.length; i++) {
+          Object value = sizes[i] < 0 ? record.get(fields.get(i).getName()) : null;
+          if (value != null) {
+            sampledBytes[i] += estimateValue(value);
+            sampledValues[i]++;
+          }
+        }
+      }
+      for (int i = 0; i < sizes.length; i++) {
+        if (sizes[i] < 0) {
+          sizes[i] = sampledValues[i] == 0 ? 0 : (double) sampledBytes[i] / sampledValues[i];
+        }
+      }
+    }
+    for (int i = 0; i < sizes.length; i++) {
+      sizes[i] = sizes[i] * (100 - fields.get(i).getNullChance()) / 100;
+    }
+    return sizes;
+  }
+
+  /**
+   * @return number of bytes every non-null value of the field takes up, or -1 if the size varies
+   */
+  private static int getFixedSize(FieldSpec field) throws IOException {
+    int size = FakeDataRecordReader.createGenerator(field).getFixedSize();
+    if (size >= 0) {
+      return size;
+    }
+    switch (field.getType().getSchema().getType()) {
+      case INT:
+      case FLOAT:
+        return 4;
+      case LONG:
+      case DOUBLE:
+        return 8;
+      default:
+        return -1;
+    }
+  }
+
+  /**
+   * @return approximate number of bytes the record would take up when encoded, without any framing overhead
+   */
+  static long estimate(StructuredRecord record) {
+    long size = 0;
+    for (Schema.Field field : record.getSchema().getFields()) {
+      size += estimateValue(record.get(field.getName()));
+    }
+    return size;
+  }
+
+  private static long estimateValue(Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof String) {
+      return ((String) value).length();
+    }
+    if (value instanceof byte[]) {
+      return ((byte[]) value).length;
+    }
+    if (value instanceof ByteBuffer) {
+      return ((ByteBuffer) value).remaining();
+    }
+    if (value instanceof Integer || value instanceof Float) {
+      return 4;
+    }
+    return 8;
+  }
+}
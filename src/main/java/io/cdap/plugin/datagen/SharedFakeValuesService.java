@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import com.github.javafaker.Faker;
+import com.github.javafaker.service.FakeValuesService;
+import com.github.javafaker.service.RandomService;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * FakeValuesService that looks up values from locale data that is parsed once per JVM.
+ *
+ * Faker parses its YAML files the first time each one is used, so every new Faker instance pays the parsing cost
+ * again. Looking up values does not use any randomness, so sharing the parsed data between instances does not change
+ * the data that is generated for a seed. The parsed data is treated as immutable.
+ */
+class SharedFakeValuesService extends FakeValuesService {
+  private static final FakeValuesService LOCALE_DATA = new FakeValuesService(Locale.ENGLISH, new RandomService());
+  // lookups by key, including misses since the same keys get looked up for every record
+  private static final ConcurrentMap<String, Optional<Object>> VALUES = new ConcurrentHashMap<>();
+
+  private SharedFakeValuesService(RandomService randomService) {
+    super(Locale.ENGLISH, randomService);
+  }
+
+  /**
+   * Create a Faker that generates the same data as {@code new Faker(random)}, but that shares its locale data with
+   * every other Faker created by this method.
+   */
+  static Faker createFaker(Random random) {
+    RandomService randomService = new RandomService(random);
+    return new Faker(new SharedFakeValuesService(randomService), randomService);
+  }
+
+  @Override
+  public Object fetchObject(String key) {
+    return VALUES.computeIfAbsent(key, SharedFakeValuesService::load).orElse(null);
+  }
+
+  private static Optional<Object> load(String key) {
+    // the locale data is loaded lazily and is not thread safe
+    synchronized (LOCALE_DATA) {
+      return Optional.ofNullable(LOCALE_DATA.fetchObject(key));
+    }
+  }
+}
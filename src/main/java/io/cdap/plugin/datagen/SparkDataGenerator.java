@@ -0,0 +1,144 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import org.apache.spark.TaskContext;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.spark.util.TaskCompletionListener;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Generates data as a Spark RDD, without going through a Hadoop InputFormat. Each split of the spec is generated by
+ * a single task, directly from a record reader, so the data is the same as the data generated by the batch source.
+ */
+final class SparkDataGenerator {
+
+  private SparkDataGenerator() {
+    // utility class
+  }
+
+  /**
+   * @return an RDD with one partition for each split of the spec
+   */
+  static JavaRDD<StructuredRecord> generate(JavaSparkContext jsc, DataGeneratorSpec spec) {
+    return generate(jsc, spec, 0L);
+  }
+
+  /**
+   * Generates the splits that come after the splits of the spec, as if the spec had more splits. This is used to
+   * generate a batch of a stream, where each batch covers the next range of records.
+   *
+   * @param firstSplit split number of the first split to generate
+   * @return an RDD with one partition for each split of the spec
+   */
+  static JavaRDD<StructuredRecord> generate(JavaSparkContext jsc, DataGeneratorSpec spec, long firstSplit) {
+    return generate(jsc, spec.encode(), spec.getNumSplits(), firstSplit, Long.MAX_VALUE);
+  }
+
+  /**
+   * Same as {@link #generate(JavaSparkContext, DataGeneratorSpec, long)}, for a spec that is already encoded.
+   *
+   * @param maxRecordsPerSplit maximum number of records to generate for each split. If this is less than the
+   *   records per split of the spec, only the first records of each split are generated
+   */
+  static JavaRDD<StructuredRecord> generate(JavaSparkContext jsc, String encodedSpec, int numSplits,
+                                            long firstSplit, long maxRecordsPerSplit) {
+    List<Long> splits = LongStream.range(firstSplit, firstSplit + numSplits).boxed().collect(Collectors.toList());
+    return jsc.parallelize(splits, Math.max(1, splits.size()))
+      .flatMap(new GenerateSplit(encodedSpec, maxRecordsPerSplit));
+  }
+
+  /**
+   * Generates the records of a split.
+   */
+  static final class GenerateSplit implements FlatMapFunction<Long, StructuredRecord> {
+    // the spec is sent encoded so that it is small when serialized, and is decoded once per executor
+    private final String encodedSpec;
+    private final long maxRecords;
+
+    GenerateSplit(String encodedSpec) {
+      this(encodedSpec, Long.MAX_VALUE);
+    }
+
+    GenerateSplit(String encodedSpec, long maxRecords) {
+      this.encodedSpec = encodedSpec;
+      this.maxRecords = maxRecords;
+    }
+
+    @Override
+    public Iterator<StructuredRecord> call(Long splitNum) throws IOException {
+      DataGeneratorSpec spec = DataGeneratorSpec.decode(encodedSpec);
+      FakeDataRecordReader reader = new FakeDataRecordReader();
+      reader.initialize(spec, splitNum * spec.getRecordsPerSplit(), Math.min(spec.getRecordsPerSplit(), maxRecords));
+      TaskContext taskContext = TaskContext.get();
+      if (taskContext != null) {
+        // the iterator only closes the reader after the last record, so the worker threads would keep running if
+        // the task stops reading early, like a take() does, or fails
+        taskContext.addTaskCompletionListener((TaskCompletionListener) context -> reader.close());
+      }
+      return new RecordIterator(reader);
+    }
+  }
+
+  /**
+   * Iterates over the records of a reader. Records are generated as they are iterated over.
+   */
+  private static final class RecordIterator implements Iterator<StructuredRecord> {
+    private final FakeDataRecordReader reader;
+    private boolean advanced;
+    private boolean hasNext;
+
+    private RecordIterator(FakeDataRecordReader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (!advanced) {
+        try {
+          hasNext = reader.nextKeyValue();
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+        advanced = true;
+        if (!hasNext) {
+          // stops the worker threads, if the records are generated by more than one thread
+          reader.close();
+        }
+      }
+      return hasNext;
+    }
+
+    @Override
+    public StructuredRecord next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      advanced = false;
+      return reader.getCurrentValue();
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import org.apache.spark.streaming.StreamingContext;
+import org.apache.spark.streaming.Time;
+import org.apache.spark.streaming.receiver.Receiver;
+import org.apache.spark.streaming.scheduler.RateController;
+import org.apache.spark.streaming.scheduler.StreamInputInfo;
+import org.apache.spark.streaming.scheduler.rate.RateEstimator;
+import org.apache.spark.streaming.scheduler.rate.RateEstimator$;
+import scala.Tuple2;
+import scala.collection.immutable.Map;
+import scala.collection.immutable.Map$;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads the rates that Spark sets on streams for backpressure, and reports the input of streams that rates are
+ * estimated from. Spark has no public API for them, so this uses
+ * members that are private to Spark's streaming package. They are only reachable because Scala compiles package
+ * private members to public ones, and they can change in any Spark release. Every use of them is kept in this class,
+ * except for the type of the rate controller that a stream returns to Spark.
+ */
+final class SparkRates {
+
+  private SparkRates() {
+    // no-op
+  }
+
+  /**
+   * @return a rate controller for an input stream, or null if backpressure is not enabled
+   */
+  @Nullable
+  static RateController createRateController(StreamingContext ssc, int streamId) {
+    if (!RateController.isBackPressureEnabled(ssc.conf())) {
+      return null;
+    }
+    return new GeneratorRateController(streamId, RateEstimator$.MODULE$.create(ssc.conf(),
+                                                                               ssc.graph().batchDuration()));
+  }
+
+  /**
+   * @return rate in records per second that the controller estimates the pipeline can sustain, or 0 or less if there
+   *         is no estimate yet
+   */
+  static long getLatestRate(RateController rateController) {
+    return rateController.getLatestRate();
+  }
+
+  /**
+   * Reports the number of records in a batch of an input stream, which is what the rate controller estimates the rate
+   * from. This is also what the Spark UI shows as the input of the batch.
+   */
+  static void reportInput(StreamingContext ssc, Time batchTime, int streamId, long numRecords, String description) {
+    Map<String, Object> metadata = Map$.MODULE$.<String, Object>empty()
+      .$plus(new Tuple2<>(StreamInputInfo.METADATA_KEY_DESCRIPTION(), description));
+    ssc.scheduler().inputInfoTracker().reportInfo(batchTime, StreamInputInfo.apply(streamId, numRecords, metadata));
+  }
+
+  /**
+   * @return rate in records per second that a started receiver is limited to, or 0 or less or Long.MAX_VALUE if it is
+   *         not limited
+   */
+  static long getRateLimit(Receiver<?> receiver) {
+    return receiver.supervisor().getCurrentRateLimit();
+  }
+
+  /**
+   * Rate controller for an input stream. Nothing needs to be published, since the latest rate is read when a batch is
+   * computed.
+   */
+  private static final class GeneratorRateController extends RateController {
+
+    private GeneratorRateController(int streamUID, RateEstimator rateEstimator) {
+      super(streamUID, rateEstimator);
+    }
+
+    @Override
+    public void publish(long rate) {
+      // no-op
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import io.cdap.cdap.etl.api.Arguments;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plans the splits for a total number of records or a total size, instead of a fixed number of splits.
+ * Splits are sized to a target split size, and there are enough of them to give every task that can run at the same
+ * time an equal share. If the number of tasks is not known, the splits are only sized to the split size. The last
+ * split holds whatever remains.
+ */
+final class SplitPlanner {
+  private static final Logger LOG = LoggerFactory.getLogger(SplitPlanner.class);
+  // runtime arguments that hold the number of tasks that can run at the same time, in order of preference. Engine
+  // properties of a pipeline are passed to the program as runtime arguments with a 'system.<engine>.' prefix
+  private static final String[] PARALLELISM_ARGUMENTS = {
+    "spark.default.parallelism", "system.spark.spark.default.parallelism",
+    "mapreduce.job.maps", "system.mapreduce.mapreduce.job.maps"
+  };
+  private final long totalRecords;
+  private final long targetBytes;
+  private final long splitBytes;
+  private final int parallelism;
+
+  /**
+   * @param totalRecords total number of records to generate, or 0 to derive it from the target size
+   * @param targetBytes total size of the records to generate, used if the total number of records is not set
+   * @param splitBytes target size of a split
+   * @param parallelism number of tasks that can run at the same time, or 0 to resolve it from the runtime arguments,
+   *   or to plan the splits by their size alone if it cannot be resolved
+   */
+  SplitPlanner(long totalRecords, long targetBytes, long splitBytes, int parallelism) {
+    this.totalRecords = totalRecords;
+    this.targetBytes = targetBytes;
+    this.splitBytes = splitBytes;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * @return a copy of the planner that plans the splits for the number of tasks in the arguments, if it does not have
+   *   a number of tasks yet. If the arguments do not have one either, the planner is returned as it is.
+   */
+  SplitPlanner withParallelism(Arguments arguments) {
+    if (parallelism > 0) {
+      return this;
+    }
+    for (String name : PARALLELISM_ARGUMENTS) {
+      if (arguments.has(name)) {
+        int value = Integer.parseInt(arguments.get(name));
+        if (value > 0) {
+          return new SplitPlanner(totalRecords, targetBytes, splitBytes, value);
+        }
+      }
+    }
+    LOG.warn("The parallelism is not set in the source, and the 'spark.default.parallelism' and 'mapreduce.job.maps' "
+               + "engine properties are not in the runtime arguments. Splits are planned by their size alone, so the "
+               + "last wave of tasks may not keep every task busy.");
+    return this;
+  }
+
+  /**
+   * @return the splits for the spec
+   * @throws IOException if the records could not be sampled, or there would be too many splits
+   */
+  List<InputSplit> plan(DataGeneratorSpec spec) throws IOException {
+    long recordBytes = spec.getRecordBytes();
+    long numRecords = getNumRecords(recordBytes);
+    if (numRecords <= 0) {
+      throw new IOException("Either a total number of records or a target size must be given to plan the splits.");
+    }
+    long recordsPerSplit = getRecordsPerSplit(recordBytes);
+    long numSplits = divideRoundingUp(numRecords, recordsPerSplit);
+    if (parallelism > 0) {
+      // every task gets a split, and the last wave of splits is as full as the others
+      numSplits = numSplits < parallelism ? Math.min(parallelism, numRecords)
+        : divideRoundingUp(numSplits, parallelism) * parallelism;
+      recordsPerSplit = divideRoundingUp(numRecords, numSplits);
+      numSplits = divideRoundingUp(numRecords, recordsPerSplit);
+    }
+    if (numSplits > Integer.MAX_VALUE) {
+      throw new IOException(String.format("Generating %d records would take %d splits, which is more than the %d "
+                                            + "that are supported. Increase the split size.",
+                                          numRecords, numSplits, Integer.MAX_VALUE));
+    }
+    LOG.info("Generating {} records of about {} bytes in {} splits of {} records, for a parallelism of {}.",
+             numRecords, recordBytes, numSplits, recordsPerSplit, parallelism);
+
+    List<InputSplit> splits = new ArrayList<>((int) numSplits);
+    for (int i = 0; i < numSplits; i++) {
+      long offset = i * recordsPerSplit;
+      splits.add(new FakeDataInputSplit(spec, i, offset, Math.min(recordsPerSplit, numRecords - offset)));
+    }
+    return splits;
+  }
+
+  /**
+   * @return total number of records to generate, if records are the given size
+   */
+  long getNumRecords(long recordBytes) {
+    return totalRecords > 0 ? totalRecords : divideRoundingUp(targetBytes, recordBytes);
+  }
+
+  /**
+   * @return number of records in a split of the target size, before splits are evened out for the parallelism
+   */
+  long getRecordsPerSplit(long recordBytes) {
+    return Math.max(1, splitBytes / recordBytes);
+  }
+
+  private static long divideRoundingUp(long dividend, long divisor) {
+    return dividend / divisor + (dividend % divisor == 0 ? 0 : 1);
+  }
+}
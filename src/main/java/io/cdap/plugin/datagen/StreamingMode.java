@@ -0,0 +1,32 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+/**
+ * How the streaming source generates data.
+ */
+public enum StreamingMode {
+  /**
+   * Each split is generated by a receiver, which permanently occupies an executor core and stores records in the
+   * block manager before they are processed.
+   */
+  RECEIVER,
+  /**
+   * Each batch is generated directly in the tasks that process it, with one partition for each split.
+   */
+  DIRECT
+}
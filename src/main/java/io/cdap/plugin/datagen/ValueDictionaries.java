@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import com.github.javafaker.Faker;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Pools of distinct values that are built once per JVM, so that generators can pick values from a pool instead of
+ * creating every value from scratch. A pool only depends on its name, seed and size, so every split that generates
+ * the same field from the same seed shares the same pool, and the field has no more distinct values than the pool.
+ */
+public final class ValueDictionaries {
+  // upper bound on the number of values held by all the pools in the JVM, older pools are dropped past it
+  private static final long MAX_VALUES = 10 * 1000 * 1000;
+  private static final Cache<String, String[]> DICTIONARIES = CacheBuilder.newBuilder()
+    .maximumWeight(MAX_VALUES)
+    .weigher((String key, String[] values) -> values.length)
+    .build();
+
+  private ValueDictionaries() {
+    // utility class
+  }
+
+  /**
+   * Returns a pool of distinct values, building it if it is not in the JVM yet. The pool is filled by drawing values
+   * from a faker seeded from the name and seed, until it holds the given number of distinct values. If the values
+   * run out before that, because there are fewer possible values than the size, the pool holds the ones that were
+   * found.
+   *
+   * @param name name that identifies the kind of values in the pool
+   * @param seed seed of the values in the pool
+   * @param size number of distinct values in the pool
+   * @param values creates the supplier of values from a faker
+   * @return the values in the pool, which must not be modified
+   */
+  public static String[] get(String name, long seed, int size, Function<Faker, Supplier<String>> values) {
+    try {
+      return DICTIONARIES.get(name + '\0' + seed + '\0' + size, () -> build(name, seed, size, values));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  private static String[] build(String name, long seed, int size, Function<Faker, Supplier<String>> values) {
+    Random random = new XoroshiroRandom(FastRandom.streamSeed(seed, name.hashCode()));
+    Supplier<String> supplier = values.apply(SharedFakeValuesService.createFaker(random));
+    Set<String> dictionary = new LinkedHashSet<>();
+    // give up once it has been a long time since a new value came up
+    int misses = 0;
+    while (dictionary.size() < size && misses <= Math.max(1000, dictionary.size())) {
+      if (dictionary.add(supplier.get())) {
+        misses = 0;
+      } else {
+        misses++;
+      }
+    }
+    return dictionary.toArray(new String[0]);
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+/**
+ * A xoroshiro128++ random number generator. It is much faster than {@link java.util.Random}, has a period of
+ * 2^128 - 1, and passes statistical tests that Random fails. It is not thread safe.
+ *
+ * The generator is a {@link java.util.Random}, so it can be passed anywhere one is expected,
+ * including javafaker's RandomService.
+ */
+final class XoroshiroRandom extends FastRandom {
+  private long s0;
+  private long s1;
+
+  XoroshiroRandom(long seed) {
+    super(seed);
+  }
+
+  @Override
+  void reseed(long seed) {
+    // expand the seed with SplitMix64, as recommended by the authors of the algorithm
+    s0 = mix64(seed + GOLDEN_GAMMA);
+    s1 = mix64(seed + 2 * GOLDEN_GAMMA);
+    if (s0 == 0 && s1 == 0) {
+      // the all zero state is the only one that is not allowed
+      s1 = GOLDEN_GAMMA;
+    }
+  }
+
+  @Override
+  long nextBits() {
+    long s0 = this.s0;
+    long s1 = this.s1;
+    long result = Long.rotateLeft(s0 + s1, 17) + s0;
+    s1 ^= s0;
+    this.s0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+    this.s1 = Long.rotateLeft(s1, 28);
+    return result;
+  }
+}
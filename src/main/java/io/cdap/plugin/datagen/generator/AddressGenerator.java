@@ -17,30 +17,25 @@
 package io.cdap.plugin.datagen.generator;
 
 import com.github.javafaker.Address;
-import io.cdap.plugin.datagen.GeneratorContext;
+import com.github.javafaker.Faker;
 
 import java.util.function.Supplier;
 
 /**
  * Generates random addresses.
  */
-public class AddressGenerator extends RandomGenerator<String> {
+public class AddressGenerator extends FakerGenerator {
   private final Config config;
-  private Supplier<String> supplier;
-  private Address address;
 
   public AddressGenerator(Config config) {
+    super(config.dictionarySize);
     this.config = config;
   }
 
   @Override
-  public void initialize(GeneratorContext context) {
-    super.initialize(context);
-    address = context.getFaker().address();
-    supplier = getSupplier(config.type.toLowerCase());
-  }
-
-  private Supplier<String> getSupplier(String type) {
+  protected Supplier<String> createSupplier(Faker faker) {
+    Address address = faker.address();
+    String type = config.type.toLowerCase();
     switch (type) {
       case "street":
         return address::streetAddress;
@@ -63,8 +58,8 @@ public class AddressGenerator extends RandomGenerator<String> {
   }
 
   @Override
-  public String generate() {
-    return supplier.get();
+  protected String getDictionaryName() {
+    return super.getDictionaryName() + ":" + config.type.toLowerCase();
   }
 
   /**
@@ -72,13 +67,19 @@ public class AddressGenerator extends RandomGenerator<String> {
    */
   public static class Config {
     private String type;
+    private int dictionarySize;
 
     public Config() {
       this("full");
     }
 
     public Config(String type) {
+      this(type, 0);
+    }
+
+    public Config(String type, int dictionarySize) {
       this.type = type;
+      this.dictionarySize = dictionarySize;
     }
   }
 }
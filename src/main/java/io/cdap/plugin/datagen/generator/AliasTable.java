@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen.generator;
+
+import java.util.Random;
+
+/**
+ * Draws indexes with given weights in constant time, using Vose's version of Walker's alias method.
+ *
+ * Every index owns a column of the same height. The column of index i is split in two: the bottom part, up to
+ * probability[i], belongs to i, and the rest belongs to alias[i]. Columns are filled so that the total area that
+ * belongs to each index is proportional to its weight. A draw picks a column and a height in a single random double.
+ */
+final class AliasTable {
+  private final double[] probability;
+  private final int[] alias;
+
+  /**
+   * @param weights weight of each index, which must not be negative and must not all be zero
+   */
+  AliasTable(double[] weights) {
+    int n = weights.length;
+    if (n == 0) {
+      throw new IllegalArgumentException("There must be at least one weight.");
+    }
+    double total = 0;
+    for (double weight : weights) {
+      if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+        throw new IllegalArgumentException(String.format("Weight %s must be a non-negative number.", weight));
+      }
+      total += weight;
+    }
+    if (total <= 0) {
+      throw new IllegalArgumentException("At least one weight must be positive.");
+    }
+
+    probability = new double[n];
+    alias = new int[n];
+    // scale the weights so that the average is 1, then pair every index below 1 with one above it
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int numSmall = 0;
+    int numLarge = 0;
+    for (int i = 0; i < n; i++) {
+      scaled[i] = weights[i] * n / total;
+      if (scaled[i] < 1) {
+        small[numSmall++] = i;
+      } else {
+        large[numLarge++] = i;
+      }
+    }
+    while (numSmall > 0 && numLarge > 0) {
+      int less = small[--numSmall];
+      int more = large[--numLarge];
+      probability[less] = scaled[less];
+      alias[less] = more;
+      scaled[more] = scaled[more] + scaled[less] - 1;
+      if (scaled[more] < 1) {
+        small[numSmall++] = more;
+      } else {
+        large[numLarge++] = more;
+      }
+    }
+    // whatever is left is within rounding error of 1
+    while (numLarge > 0) {
+      probability[large[--numLarge]] = 1;
+    }
+    while (numSmall > 0) {
+      probability[small[--numSmall]] = 1;
+    }
+  }
+
+  /**
+   * @return an index, drawn with a chance proportional to its weight
+   */
+  int next(Random random) {
+    double u = random.nextDouble() * probability.length;
+    int column = (int) u;
+    return u - column < probability[column] ? column : alias[column];
+  }
+}
@@ -16,23 +16,36 @@
 
 package io.cdap.plugin.datagen.generator;
 
-import com.github.javafaker.Business;
-import io.cdap.plugin.datagen.GeneratorContext;
+import com.github.javafaker.Faker;
+
+import java.util.function.Supplier;
 
 /**
  * Generates random credit card numbers.
  */
-public class CreditCardGenerator extends RandomGenerator<String> {
-  private Business business;
+public class CreditCardGenerator extends FakerGenerator {
 
-  @Override
-  public void initialize(GeneratorContext context) {
-    super.initialize(context);
-    business = context.getFaker().business();
+  public CreditCardGenerator(Config config) {
+    super(config.dictionarySize);
   }
 
   @Override
-  public String generate() {
-    return business.creditCardNumber();
+  protected Supplier<String> createSupplier(Faker faker) {
+    return faker.business()::creditCardNumber;
+  }
+
+  /**
+   * Config.
+   */
+  public static class Config {
+    private int dictionarySize;
+
+    public Config() {
+      this(0);
+    }
+
+    public Config(int dictionarySize) {
+      this.dictionarySize = dictionarySize;
+    }
   }
 }
@@ -16,23 +16,36 @@
 
 package io.cdap.plugin.datagen.generator;
 
-import com.github.javafaker.Internet;
-import io.cdap.plugin.datagen.GeneratorContext;
+import com.github.javafaker.Faker;
+
+import java.util.function.Supplier;
 
 /**
  * Generates random email addresses.
  */
-public class EmailGenerator extends RandomGenerator<String> {
-  private Internet internet;
+public class EmailGenerator extends FakerGenerator {
 
-  @Override
-  public void initialize(GeneratorContext context) {
-    super.initialize(context);
-    internet = context.getFaker().internet();
+  public EmailGenerator(Config config) {
+    super(config.dictionarySize);
   }
 
   @Override
-  public String generate() {
-    return internet.emailAddress();
+  protected Supplier<String> createSupplier(Faker faker) {
+    return faker.internet()::emailAddress;
+  }
+
+  /**
+   * Config.
+   */
+  public static class Config {
+    private int dictionarySize;
+
+    public Config() {
+      this(0);
+    }
+
+    public Config(int dictionarySize) {
+      this.dictionarySize = dictionarySize;
+    }
   }
 }
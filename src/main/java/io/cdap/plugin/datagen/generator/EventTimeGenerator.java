@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen.generator;
+
+import io.cdap.plugin.datagen.EventClock;
+import io.cdap.plugin.datagen.GeneratorContext;
+import io.cdap.plugin.datagen.LongDataGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates event timestamps that follow the clock of the stream, with a bounded amount of disorder and a fraction of
+ * late events.
+ *
+ * Each event time is the time of the record on the {@link EventClock} of the stream, moved back by a random amount up
+ * to the maximum disorder. Events are therefore out of order by at most the maximum disorder, and are never behind the
+ * watermark generated by a {@link WatermarkGenerator} with the same maximum disorder. Late chance percentage of the
+ * time, the event time is instead moved back past the watermark, by up to the maximum lateness. Since the clock only
+ * depends on the record number, the same record always gets the same event time for the same seed. A nullable field
+ * is moved past its null records by {@link NullableGenerator}, so its event times keep up with the watermark.
+ */
+public class EventTimeGenerator extends RandomGenerator<Long> implements LongDataGenerator {
+  private final Config config;
+  private EventClock clock;
+  private long recordNum;
+
+  public EventTimeGenerator(Config config) {
+    if (config.maxDisorderMillis < 0 || config.maxLatenessMillis < 0) {
+      throw new IllegalArgumentException("The maximum disorder and lateness must not be negative.");
+    }
+    this.config = config;
+  }
+
+  @Override
+  public void initialize(GeneratorContext context) {
+    super.initialize(context);
+    clock = context.getEventClock();
+    seek(context.getOffset());
+  }
+
+  @Override
+  public void seek(long offset) {
+    recordNum = offset;
+  }
+
+  @Override
+  public long generateLong() {
+    long now = clock.getMillis(recordNum++);
+    long millis;
+    if (config.lateChance > 0 && random.nextInt(100) < config.lateChance) {
+      millis = now - config.maxDisorderMillis - 1 - nextLong(0, config.maxLatenessMillis);
+    } else {
+      millis = now - nextLong(0, config.maxDisorderMillis);
+    }
+    return TimeUnit.MILLISECONDS.toMicros(millis);
+  }
+
+  /**
+   * Config.
+   */
+  public static class Config {
+    private long maxDisorderMillis;
+    private int lateChance;
+    private long maxLatenessMillis;
+
+    public Config() {
+      this(0, 0, TimeUnit.MINUTES.toMillis(1));
+    }
+
+    public Config(long maxDisorderMillis, int lateChance, long maxLatenessMillis) {
+      this.maxDisorderMillis = maxDisorderMillis;
+      this.lateChance = lateChance;
+      this.maxLatenessMillis = maxLatenessMillis;
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen.generator;
+
+import com.github.javafaker.Faker;
+import io.cdap.plugin.datagen.ColumnVector;
+import io.cdap.plugin.datagen.GeneratorContext;
+import io.cdap.plugin.datagen.ValueDictionaries;
+
+import java.util.function.Supplier;
+
+/**
+ * Base class for generators of strings that come from a faker.
+ *
+ * Faker resolves templates and expressions every time it creates a value, which makes it one of the slowest ways to
+ * generate a field. When the dictionary size is set, values are instead picked from a pool of that many distinct
+ * values, which is built from the seed once per JVM and shared by every split. This is much faster, and also
+ * controls how many distinct values the field has.
+ */
+public abstract class FakerGenerator extends RandomGenerator<String> {
+  private final int dictionarySize;
+  private Supplier<String> supplier;
+  private String[] dictionary;
+
+  /**
+   * @param dictionarySize number of distinct values to pick from, or 0 to create every value with the faker
+   */
+  protected FakerGenerator(int dictionarySize) {
+    if (dictionarySize < 0) {
+      throw new IllegalArgumentException("The dictionary size must not be negative.");
+    }
+    this.dictionarySize = dictionarySize;
+  }
+
+  @Override
+  public void initialize(GeneratorContext context) {
+    super.initialize(context);
+    if (dictionarySize > 0) {
+      dictionary = ValueDictionaries.get(getDictionaryName(), context.getSeed(), dictionarySize,
+                                         this::createSupplier);
+    } else {
+      supplier = createSupplier(context.getFaker());
+    }
+  }
+
+  /**
+   * @return supplier of values created by the given faker
+   */
+  protected abstract Supplier<String> createSupplier(Faker faker);
+
+  /**
+   * @return name of the kind of values that are generated. Generators with the same name, seed and dictionary size
+   *   share the same dictionary.
+   */
+  protected String getDictionaryName() {
+    return getClass().getName();
+  }
+
+  @Override
+  public String generate() {
+    return dictionary == null ? supplier.get() : dictionary[random.nextInt(dictionary.length)];
+  }
+
+  @Override
+  public void generateBatch(int n, ColumnVector out) {
+    if (dictionary == null) {
+      super.generateBatch(n, out);
+      return;
+    }
+    Object[] values = out.objects();
+    for (int i = 0; i < n; i++) {
+      values[i] = dictionary[random.nextInt(dictionary.length)];
+    }
+  }
+}
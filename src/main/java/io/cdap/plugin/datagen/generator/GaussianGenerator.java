@@ -16,10 +16,13 @@
 
 package io.cdap.plugin.datagen.generator;
 
+import io.cdap.plugin.datagen.ColumnVector;
+import io.cdap.plugin.datagen.DoubleDataGenerator;
+
 /**
  * Generates doubles in a gaussian distribution.
  */
-public class GaussianGenerator extends RandomGenerator<Double> {
+public class GaussianGenerator extends RandomGenerator<Double> implements DoubleDataGenerator {
   private final Config config;
 
   public GaussianGenerator(Config config) {
@@ -27,10 +30,18 @@ public class GaussianGenerator extends RandomGenerator<Double> {
   }
 
   @Override
-  public Double generate() {
+  public double generateDouble() {
     return config.mean + random.nextGaussian() * config.stddev;
   }
 
+  @Override
+  public void generateBatch(int n, ColumnVector out) {
+    double[] values = out.doubles();
+    for (int i = 0; i < n; i++) {
+      values[i] = config.mean + random.nextGaussian() * config.stddev;
+    }
+  }
+
   /**
    * Config.
    */
@@ -26,14 +26,18 @@ import javax.annotation.Nullable;
  */
 public enum GeneratorType {
   ADDRESS(AddressGenerator.class, AddressGenerator.Config.class, Schemas.STRING),
-  CREDIT_CARD(CreditCardGenerator.class, null, Schemas.STRING),
-  EMAIL(EmailGenerator.class, null, Schemas.STRING),
+  CREDIT_CARD(CreditCardGenerator.class, CreditCardGenerator.Config.class, Schemas.STRING),
+  EMAIL(EmailGenerator.class, EmailGenerator.Config.class, Schemas.STRING),
+  EVENT_TIME(EventTimeGenerator.class, EventTimeGenerator.Config.class, Schemas.TIMESTAMP),
   GAUSSIAN(GaussianGenerator.class, GaussianGenerator.Config.class, Schemas.DOUBLE),
   LOREM(LoremGenerator.class, LoremGenerator.Config.class, Schemas.STRING),
   NAME(NameGenerator.class, NameGenerator.Config.class, Schemas.STRING),
-  PHONE_NUMBER(PhoneNumberGenerator.class, null, Schemas.STRING),
-  PROFESSION(ProfessionGenerator.class, null, Schemas.STRING),
+  PERMUTED_LONG(PermutedLongGenerator.class, PermutedLongGenerator.Config.class, Schemas.LONG),
+  PHONE_NUMBER(PhoneNumberGenerator.class, PhoneNumberGenerator.Config.class, Schemas.STRING),
+  POWER_LAW(PowerLawGenerator.class, PowerLawGenerator.Config.class, Schemas.DOUBLE),
+  PROFESSION(ProfessionGenerator.class, ProfessionGenerator.Config.class, Schemas.STRING),
   RANDOM_BYTES(RandomBytesGenerator.class, RandomBytesGenerator.Config.class, Schemas.BYTES),
+  RANDOM_BYTES_SLAB(RandomBytesSlabGenerator.class, RandomBytesSlabGenerator.Config.class, Schemas.BYTES),
   RANDOM_CHOSEN_STRING(RandomChosenStringGenerator.class, RandomChosenStringGenerator.Config.class,
       Schemas.STRING),
   RANDOM_INT(RandomIntGenerator.class, RandomIntGenerator.Config.class, Schemas.INT),
@@ -46,7 +50,10 @@ public enum GeneratorType {
   SEQUENTIAL_LONG(SequentialLongGenerator.class, SequentialLongGenerator.Config.class, Schemas.LONG),
   SEQUENTIAL_LONG_SKEWED(SequentialLongSkewedGenerator.class, SequentialLongSkewedGenerator.Config.class, Schemas.LONG),
   TIMESTAMP(TimestampGenerator.class, TimestampGenerator.Config.class, Schemas.TIMESTAMP),
-  UUID(UUIDGenerator.class, null, Schemas.STRING);
+  UUID(UUIDGenerator.class, null, Schemas.STRING),
+  WATERMARK(WatermarkGenerator.class, WatermarkGenerator.Config.class, Schemas.TIMESTAMP),
+  WEIGHTED_CHOICE(WeightedChoiceGenerator.class, WeightedChoiceGenerator.Config.class, Schemas.STRING),
+  ZIPF(ZipfGenerator.class, ZipfGenerator.Config.class, Schemas.LONG);
 
   private final Class<? extends DataGenerator> generatorClass;
   private final Class<?> configType;
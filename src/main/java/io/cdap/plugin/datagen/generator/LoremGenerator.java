@@ -41,6 +41,11 @@ public class LoremGenerator extends RandomGenerator<String> {
     return lorem.fixedString(config.size);
   }
 
+  @Override
+  public int getFixedSize() {
+    return config.size;
+  }
+
   /**
    * Config.
    */
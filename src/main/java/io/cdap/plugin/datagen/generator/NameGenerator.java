@@ -16,36 +16,30 @@
 
 package io.cdap.plugin.datagen.generator;
 
+import com.github.javafaker.Faker;
 import com.github.javafaker.Name;
-import io.cdap.plugin.datagen.GeneratorContext;
 
 import java.util.function.Supplier;
 
 /**
  * Generates random names.
  */
-public class NameGenerator extends RandomGenerator<String> {
+public class NameGenerator extends FakerGenerator {
   public static final String FIRST_NAME = "first";
   public static final String LAST_NAME = "last";
   public static final String USERNAME = "username";
   public static final String FULL_NAME = "full";
   private final Config config;
-  private Supplier<String> supplier;
-  private Name name;
 
   public NameGenerator(Config config) {
+    super(config.dictionarySize);
     this.config = config;
   }
 
   @Override
-  public void initialize(GeneratorContext context) {
-    super.initialize(context);
-    name = context.getFaker().name();
-    supplier = getSupplier(config.type);
-  }
-
-  private Supplier<String> getSupplier(String type) {
-    switch (type) {
+  protected Supplier<String> createSupplier(Faker faker) {
+    Name name = faker.name();
+    switch (config.type) {
       case FIRST_NAME:
         return name::firstName;
       case LAST_NAME:
@@ -55,12 +49,12 @@ public class NameGenerator extends RandomGenerator<String> {
       case FULL_NAME:
         return name::fullName;
     }
-    throw new IllegalArgumentException("Unsupported name type: " + type);
+    throw new IllegalArgumentException("Unsupported name type: " + config.type);
   }
 
   @Override
-  public String generate() {
-    return supplier.get();
+  protected String getDictionaryName() {
+    return super.getDictionaryName() + ":" + config.type;
   }
 
   /**
@@ -68,13 +62,19 @@ public class NameGenerator extends RandomGenerator<String> {
    */
   public static class Config {
     private String type;
+    private int dictionarySize;
 
     public Config() {
       this(FULL_NAME);
     }
 
     public Config(String type) {
+      this(type, 0);
+    }
+
+    public Config(String type, int dictionarySize) {
       this.type = type;
+      this.dictionarySize = dictionarySize;
     }
   }
 }
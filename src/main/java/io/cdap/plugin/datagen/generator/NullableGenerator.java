@@ -16,17 +16,22 @@
 
 package io.cdap.plugin.datagen.generator;
 
+import io.cdap.plugin.datagen.ColumnVector;
 import io.cdap.plugin.datagen.DataGenerator;
 import io.cdap.plugin.datagen.GeneratorContext;
 
 /**
- * Sometimes generates a null value, otherwise delegates to another generator.
+ * Sometimes generates a null value, otherwise delegates to another generator. The delegate is moved past records that
+ * are null, so generators that derive their values from the record number, like sequences, event times and fields
+ * with a cardinality, give every record the same value whether or not the records before it are null.
  *
  * @param <T> type of data to generate
  */
 public class NullableGenerator<T> extends RandomGenerator<T> {
   private final DataGenerator<T> delegate;
   private final int nullChance;
+  // record number of the next record
+  private long recordNum;
 
   public NullableGenerator(DataGenerator<T> delegate, int nullChance) {
     this.delegate = delegate;
@@ -37,14 +42,43 @@ public class NullableGenerator<T> extends RandomGenerator<T> {
   public void initialize(GeneratorContext context) {
     super.initialize(context);
     delegate.initialize(context);
+    recordNum = context.getOffset();
   }
 
   @Override
   public T generate() {
+    recordNum++;
     if (random.nextInt(100) < nullChance) {
+      delegate.seek(recordNum);
       return null;
     }
     return delegate.generate();
   }
 
+  /**
+   * Generates a value for every record, then decides which ones are null. This keeps the delegate in a tight loop,
+   * but means the data is not the same as calling {@link #generate()} n times.
+   */
+  @Override
+  public void generateBatch(int n, ColumnVector out) {
+    delegate.generateBatch(n, out);
+    recordNum += n;
+    for (int i = 0; i < n; i++) {
+      if (random.nextInt(100) < nullChance) {
+        out.setNull(i);
+      }
+    }
+  }
+
+  @Override
+  public void seek(long offset) {
+    recordNum = offset;
+    delegate.seek(offset);
+  }
+
+  @Override
+  public int getFixedSize() {
+    return delegate.getFixedSize();
+  }
+
 }
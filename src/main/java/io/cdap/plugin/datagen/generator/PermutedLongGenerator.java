@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen.generator;
+
+import io.cdap.plugin.datagen.ColumnVector;
+import io.cdap.plugin.datagen.FeistelPermutation;
+import io.cdap.plugin.datagen.GeneratorContext;
+import io.cdap.plugin.datagen.LongDataGenerator;
+
+/**
+ * Generates unique longs in a shuffled order. The value of record r is start + permute(r), where the permutation is
+ * a shuffle of [0, numElements) keyed by the key of the config and the seed of the data, so every record in the first
+ * numElements records gets a different number.
+ * Each value is computed from the record number alone, so splits generate unique numbers without sharing any state.
+ * After numElements records, the sequence starts over.
+ */
+public class PermutedLongGenerator implements LongDataGenerator {
+  private final Config config;
+  private final FeistelPermutation permutation;
+  // seed of the data, which selects the permutation along with the key
+  private long seed;
+  private long current;
+
+  public PermutedLongGenerator(Config config) {
+    if (config.numElements < 0) {
+      throw new IllegalArgumentException("The number of elements must not be negative.");
+    }
+    long numElements = config.numElements == 0 ? Long.MAX_VALUE - Math.max(0, config.start) : config.numElements;
+    if (config.start + numElements < config.start) {
+      throw new IllegalArgumentException(String.format("The range of %d numbers starting at %d is larger than the "
+                                                         + "largest long.", numElements, config.start));
+    }
+    this.config = config;
+    this.permutation = new FeistelPermutation(numElements, config.key);
+  }
+
+  @Override
+  public void initialize(GeneratorContext context) {
+    seed = context.getSeed();
+    seek(context.getOffset());
+  }
+
+  @Override
+  public void seek(long offset) {
+    current = offset % permutation.getSize();
+  }
+
+  @Override
+  public long generateLong() {
+    long val = config.start + permutation.permute(current, seed);
+    current++;
+    if (current == permutation.getSize()) {
+      current = 0;
+    }
+    return val;
+  }
+
+  @Override
+  public void generateBatch(int n, ColumnVector out) {
+    long[] values = out.longs();
+    for (int i = 0; i < n; i++) {
+      values[i] = generateLong();
+    }
+  }
+
+  /**
+   * Config.
+   */
+  public static class Config {
+    private long start;
+    private long numElements;
+    private long key;
+
+    public Config() {
+      this(0, 0, 0);
+    }
+
+    public Config(long start, long numElements, long key) {
+      this.start = start;
+      this.numElements = numElements;
+      this.key = key;
+    }
+  }
+}
@@ -16,23 +16,36 @@
 
 package io.cdap.plugin.datagen.generator;
 
-import com.github.javafaker.PhoneNumber;
-import io.cdap.plugin.datagen.GeneratorContext;
+import com.github.javafaker.Faker;
+
+import java.util.function.Supplier;
 
 /**
  * Generates random phone numbers.
  */
-public class PhoneNumberGenerator extends RandomGenerator<String> {
-  private PhoneNumber phoneNumber;
+public class PhoneNumberGenerator extends FakerGenerator {
 
-  @Override
-  public void initialize(GeneratorContext context) {
-    super.initialize(context);
-    phoneNumber = context.getFaker().phoneNumber();
+  public PhoneNumberGenerator(Config config) {
+    super(config.dictionarySize);
   }
 
   @Override
-  public String generate() {
-    return phoneNumber.phoneNumber();
+  protected Supplier<String> createSupplier(Faker faker) {
+    return faker.phoneNumber()::phoneNumber;
+  }
+
+  /**
+   * Config.
+   */
+  public static class Config {
+    private int dictionarySize;
+
+    public Config() {
+      this(0);
+    }
+
+    public Config(int dictionarySize) {
+      this.dictionarySize = dictionarySize;
+    }
   }
 }
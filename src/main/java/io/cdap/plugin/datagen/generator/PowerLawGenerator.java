@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen.generator;
+
+import io.cdap.plugin.datagen.DoubleDataGenerator;
+
+/**
+ * Generates doubles with a continuous power law (Pareto) distribution, where the probability of a value x is
+ * proportional to x^-exponent for x at or above the minimum. Most values are close to the minimum, with a long tail of
+ * much larger values. Values are drawn in constant time by inverting the distribution function.
+ */
+public class PowerLawGenerator extends RandomGenerator<Double> implements DoubleDataGenerator {
+  private final Config config;
+  private final double inverseExponent;
+
+  public PowerLawGenerator(Config config) {
+    if (config.min <= 0) {
+      throw new IllegalArgumentException("The minimum must be positive.");
+    }
+    if (config.exponent <= 1) {
+      throw new IllegalArgumentException("The exponent must be larger than 1.");
+    }
+    this.config = config;
+    this.inverseExponent = -1 / (config.exponent - 1);
+  }
+
+  @Override
+  public double generateDouble() {
+    // 1 - nextDouble() is in (0, 1], so the value is never infinite
+    double value = config.min * Math.pow(1 - random.nextDouble(), inverseExponent);
+    return config.max > 0 ? Math.min(value, config.max) : value;
+  }
+
+  /**
+   * Config.
+   */
+  public static class Config {
+    private double min;
+    private double max;
+    private double exponent;
+
+    public Config() {
+      this(1, 0, 2);
+    }
+
+    public Config(double min, double max, double exponent) {
+      this.min = min;
+      this.max = max;
+      this.exponent = exponent;
+    }
+  }
+}
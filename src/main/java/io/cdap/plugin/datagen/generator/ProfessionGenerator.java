@@ -16,24 +16,36 @@
 
 package io.cdap.plugin.datagen.generator;
 
-import com.github.javafaker.Company;
 import com.github.javafaker.Faker;
-import io.cdap.plugin.datagen.GeneratorContext;
+
+import java.util.function.Supplier;
 
 /**
  * Generates random credit card numbers.
  */
-public class ProfessionGenerator extends RandomGenerator<String> {
-  private Company company;
+public class ProfessionGenerator extends FakerGenerator {
 
-  @Override
-  public void initialize(GeneratorContext context) {
-    super.initialize(context);
-    company = context.getFaker().company();
+  public ProfessionGenerator(Config config) {
+    super(config.dictionarySize);
   }
 
   @Override
-  public String generate() {
-    return company.profession();
+  protected Supplier<String> createSupplier(Faker faker) {
+    return faker.company()::profession;
+  }
+
+  /**
+   * Config.
+   */
+  public static class Config {
+    private int dictionarySize;
+
+    public Config() {
+      this(0);
+    }
+
+    public Config(int dictionarySize) {
+      this.dictionarySize = dictionarySize;
+    }
   }
 }
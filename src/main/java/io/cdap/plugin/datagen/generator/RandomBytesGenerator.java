@@ -33,6 +33,11 @@ public class RandomBytesGenerator extends RandomGenerator<byte[]> {
     return bytes;
   }
 
+  @Override
+  public int getFixedSize() {
+    return config.size;
+  }
+
   /**
    * Config.
    */
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen.generator;
+
+import io.cdap.plugin.datagen.GeneratorContext;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Random bytes that are sliced out of a large block of random bytes, instead of allocating and filling a new array
+ * for every value. The amount of memory allocated for each value does not depend on its size.
+ *
+ * Values start at a random position in the block, so they can overlap with each other. They also share the same
+ * backing array, which means they must not be modified.
+ */
+public class RandomBytesSlabGenerator extends RandomGenerator<ByteBuffer> {
+  private final Config config;
+  private byte[] slab;
+
+  public RandomBytesSlabGenerator(Config config) {
+    this.config = config;
+  }
+
+  @Override
+  public void initialize(GeneratorContext context) {
+    super.initialize(context);
+    // make sure there are always a good number of different positions a value can start at
+    slab = new byte[Math.max(config.slabSizeKB * 1024, 2 * config.size)];
+    random.nextBytes(slab);
+  }
+
+  @Override
+  public ByteBuffer generate() {
+    int offset = random.nextInt(slab.length - config.size + 1);
+    return ByteBuffer.wrap(slab, offset, config.size).slice();
+  }
+
+  @Override
+  public int getFixedSize() {
+    return config.size;
+  }
+
+  /**
+   * Config.
+   */
+  public static class Config {
+    private int size;
+    private int slabSizeKB;
+
+    public Config() {
+      this(1024, 4096);
+    }
+
+    public Config(int size, int slabSizeKB) {
+      this.size = size;
+      this.slabSizeKB = slabSizeKB;
+    }
+  }
+}
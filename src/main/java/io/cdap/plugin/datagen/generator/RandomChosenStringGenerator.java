@@ -16,6 +16,7 @@
 
 package io.cdap.plugin.datagen.generator;
 
+import io.cdap.plugin.datagen.ColumnVector;
 import io.cdap.plugin.datagen.GeneratorContext;
 
 import java.util.List;
@@ -46,6 +47,16 @@ public class RandomChosenStringGenerator extends RandomGenerator<String> {
     return config.choices.get(i);
   }
 
+  @Override
+  public void generateBatch(int n, ColumnVector out) {
+    Object[] values = out.objects();
+    List<String> choices = config.choices;
+    int numChoices = choices.size();
+    for (int i = 0; i < n; i++) {
+      values[i] = choices.get(random.nextInt(numChoices));
+    }
+  }
+
   /**
    * Config.
    */
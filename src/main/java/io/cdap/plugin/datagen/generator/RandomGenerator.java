@@ -36,4 +36,37 @@ public abstract class RandomGenerator<T> implements DataGenerator<T> {
     this.random = context.getRandom();
     this.randomService = context.getFaker().random();
   }
+
+  /**
+   * Generates an int between min and max, inclusive. This draws the same numbers as {@link RandomService#nextInt}
+   * without boxing the result, and also works for ranges that contain more than {@link Integer#MAX_VALUE} numbers.
+   */
+  protected int nextInt(int min, int max) {
+    int bound = max - min + 1;
+    if (bound > 0) {
+      return min + random.nextInt(bound);
+    }
+    // range is too large to be a bound, but covers more than half of all ints so this does not loop for long
+    int val;
+    do {
+      val = random.nextInt();
+    } while (val < min || val > max);
+    return val;
+  }
+
+  /**
+   * Generates a long between min and max, inclusive. This draws the same numbers as {@link RandomService#nextLong}
+   * and also works for ranges that contain more than {@link Long#MAX_VALUE} numbers.
+   */
+  protected long nextLong(long min, long max) {
+    long bound = max - min + 1;
+    if (bound > 0) {
+      return min + randomService.nextLong(bound);
+    }
+    long val;
+    do {
+      val = random.nextLong();
+    } while (val < min || val > max);
+    return val;
+  }
 }
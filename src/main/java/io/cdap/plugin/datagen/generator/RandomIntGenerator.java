@@ -16,10 +16,13 @@
 
 package io.cdap.plugin.datagen.generator;
 
+import io.cdap.plugin.datagen.ColumnVector;
+import io.cdap.plugin.datagen.IntDataGenerator;
+
 /**
  * Random integers.
  */
-public class RandomIntGenerator extends RandomGenerator<Integer> {
+public class RandomIntGenerator extends RandomGenerator<Integer> implements IntDataGenerator {
   private final Config config;
 
   public RandomIntGenerator(Config config) {
@@ -27,8 +30,16 @@ public class RandomIntGenerator extends RandomGenerator<Integer> {
   }
 
   @Override
-  public Integer generate() {
-    return randomService.nextInt(config.min, config.max);
+  public int generateInt() {
+    return nextInt(config.min, config.max);
+  }
+
+  @Override
+  public void generateBatch(int n, ColumnVector out) {
+    int[] values = out.ints();
+    for (int i = 0; i < n; i++) {
+      values[i] = nextInt(config.min, config.max);
+    }
   }
 
   /**
@@ -16,13 +16,15 @@
 
 package io.cdap.plugin.datagen.generator;
 
+import io.cdap.plugin.datagen.IntDataGenerator;
+
 /**
  * Generates integers within a range, with a subset of numbers more likely than the rest.
  *
  * Skew percentage of the time, the number will be randomly chosen between the skew min and max. The rest of the time,
  * the number will be randomly chosen between the min and max.
  */
-public class RandomIntSkewedGenerator extends RandomGenerator<Integer> {
+public class RandomIntSkewedGenerator extends RandomGenerator<Integer> implements IntDataGenerator {
   private final Config config;
 
   public RandomIntSkewedGenerator(Config config) {
@@ -30,11 +32,11 @@ public class RandomIntSkewedGenerator extends RandomGenerator<Integer> {
   }
 
   @Override
-  public Integer generate() {
+  public int generateInt() {
     if (random.nextInt(100) < config.skewChance) {
-      return randomService.nextInt(config.skewMin, config.skewMax);
+      return nextInt(config.skewMin, config.skewMax);
     }
-    return randomService.nextInt(config.min, config.max);
+    return nextInt(config.min, config.max);
   }
 
   /**
@@ -16,10 +16,13 @@
 
 package io.cdap.plugin.datagen.generator;
 
+import io.cdap.plugin.datagen.ColumnVector;
+import io.cdap.plugin.datagen.LongDataGenerator;
+
 /**
  * Random longs.
  */
-public class RandomLongGenerator extends RandomGenerator<Long> {
+public class RandomLongGenerator extends RandomGenerator<Long> implements LongDataGenerator {
   private final Config config;
 
   public RandomLongGenerator(Config config) {
@@ -27,8 +30,16 @@ public class RandomLongGenerator extends RandomGenerator<Long> {
   }
 
   @Override
-  public Long generate() {
-    return config.min + randomService.nextLong(config.max - config.min + 1);
+  public long generateLong() {
+    return nextLong(config.min, config.max);
+  }
+
+  @Override
+  public void generateBatch(int n, ColumnVector out) {
+    long[] values = out.longs();
+    for (int i = 0; i < n; i++) {
+      values[i] = nextLong(config.min, config.max);
+    }
   }
 
   /**
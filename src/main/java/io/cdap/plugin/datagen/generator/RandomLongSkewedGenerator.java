@@ -16,13 +16,15 @@
 
 package io.cdap.plugin.datagen.generator;
 
+import io.cdap.plugin.datagen.LongDataGenerator;
+
 /**
  * Generates longs within a range, with a subset of numbers more likely than the rest.
  *
  * Skew percentage of the time, the number will be randomly chosen between the skew min and max. The rest of the time,
  * the number will be randomly chosen between the min and max.
  */
-public class RandomLongSkewedGenerator extends RandomGenerator<Long> {
+public class RandomLongSkewedGenerator extends RandomGenerator<Long> implements LongDataGenerator {
   private final Config config;
 
   public RandomLongSkewedGenerator(Config config) {
@@ -30,11 +32,11 @@ public class RandomLongSkewedGenerator extends RandomGenerator<Long> {
   }
 
   @Override
-  public Long generate() {
+  public long generateLong() {
     if (random.nextInt(100) < config.skewChance) {
-      return config.skewMin + randomService.nextLong(config.skewMax - config.skewMin + 1);
+      return nextLong(config.skewMin, config.skewMax);
     }
-    return config.min + randomService.nextLong(config.max - config.min + 1);
+    return nextLong(config.min, config.max);
   }
 
   /**
@@ -64,6 +64,11 @@ public class SemiRandomStringGenerator extends RandomGenerator<String> {
     return sb.substring(0, config.size);
   }
 
+  @Override
+  public int getFixedSize() {
+    return config.size;
+  }
+
   /**
    * Config.
    */
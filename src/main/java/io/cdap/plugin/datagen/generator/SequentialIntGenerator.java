@@ -16,12 +16,14 @@
 
 package io.cdap.plugin.datagen.generator;
 
+import io.cdap.plugin.datagen.ColumnVector;
 import io.cdap.plugin.datagen.GeneratorContext;
+import io.cdap.plugin.datagen.IntDataGenerator;
 
 /**
  * Generates ints in a regular sequence.
  */
-public class SequentialIntGenerator extends RandomGenerator<Integer> {
+public class SequentialIntGenerator extends RandomGenerator<Integer> implements IntDataGenerator {
   private final Config config;
   private int current;
 
@@ -32,16 +34,32 @@ public class SequentialIntGenerator extends RandomGenerator<Integer> {
   @Override
   public void initialize(GeneratorContext context) {
     super.initialize(context);
-    current = config.start + (int) context.getOffset() * config.step;
+    seek(context.getOffset());
   }
 
   @Override
-  public Integer generate() {
+  public void seek(long offset) {
+    current = config.start + (int) offset * config.step;
+  }
+
+  @Override
+  public int generateInt() {
     int val = current;
     current += config.step;
     return val;
   }
 
+  @Override
+  public void generateBatch(int n, ColumnVector out) {
+    int[] values = out.ints();
+    int val = current;
+    for (int i = 0; i < n; i++) {
+      values[i] = val;
+      val += config.step;
+    }
+    current = val;
+  }
+
   /**
    * Config.
    */
@@ -17,6 +17,7 @@
 package io.cdap.plugin.datagen.generator;
 
 import io.cdap.plugin.datagen.GeneratorContext;
+import io.cdap.plugin.datagen.IntDataGenerator;
 
 /**
  * Generates ints in a regular sequence, but sometimes randomly generating a smaller subset of values.
@@ -24,7 +25,7 @@ import io.cdap.plugin.datagen.GeneratorContext;
  * Skew percentage of the time, the number will be randomly chosen between the skew min and max.
  * The rest of the time, the number will be generated by adding a constant number to the current number.
  */
-public class SequentialIntSkewedGenerator extends RandomGenerator<Integer> {
+public class SequentialIntSkewedGenerator extends RandomGenerator<Integer> implements IntDataGenerator {
   private final Config config;
   private final SequentialIntGenerator sequence;
 
@@ -40,10 +41,15 @@ public class SequentialIntSkewedGenerator extends RandomGenerator<Integer> {
   }
 
   @Override
-  public Integer generate() {
-    int val = sequence.generate();
+  public void seek(long offset) {
+    sequence.seek(offset);
+  }
+
+  @Override
+  public int generateInt() {
+    int val = sequence.generateInt();
     if (random.nextInt(100) < config.skewChance) {
-      return randomService.nextInt(config.skewMin, config.skewMax);
+      return nextInt(config.skewMin, config.skewMax);
     }
     return val;
   }
@@ -16,13 +16,14 @@
 
 package io.cdap.plugin.datagen.generator;
 
-import io.cdap.plugin.datagen.DataGenerator;
+import io.cdap.plugin.datagen.ColumnVector;
 import io.cdap.plugin.datagen.GeneratorContext;
+import io.cdap.plugin.datagen.LongDataGenerator;
 
 /**
  * Generates longs in a regular sequence.
  */
-public class SequentialLongGenerator implements DataGenerator<Long> {
+public class SequentialLongGenerator implements LongDataGenerator {
   private final Config config;
   private long current;
 
@@ -32,16 +33,32 @@ public class SequentialLongGenerator implements DataGenerator<Long> {
 
   @Override
   public void initialize(GeneratorContext context) {
-    current = config.start + context.getOffset() * config.step;
+    seek(context.getOffset());
   }
 
   @Override
-  public Long generate() {
+  public void seek(long offset) {
+    current = config.start + offset * config.step;
+  }
+
+  @Override
+  public long generateLong() {
     long val = current;
     current += config.step;
     return val;
   }
 
+  @Override
+  public void generateBatch(int n, ColumnVector out) {
+    long[] values = out.longs();
+    long val = current;
+    for (int i = 0; i < n; i++) {
+      values[i] = val;
+      val += config.step;
+    }
+    current = val;
+  }
+
   /**
    * Config.
    */
@@ -17,6 +17,7 @@
 package io.cdap.plugin.datagen.generator;
 
 import io.cdap.plugin.datagen.GeneratorContext;
+import io.cdap.plugin.datagen.LongDataGenerator;
 
 /**
  * Generates longs in a regular sequence, but sometimes randomly generating a smaller subset of values.
@@ -24,7 +25,7 @@ import io.cdap.plugin.datagen.GeneratorContext;
  * Skew percentage of the time, the number will be randomly chosen between the skew min and max.
  * The rest of the time, the number will be generated by adding a constant number to the current number.
  */
-public class SequentialLongSkewedGenerator extends RandomGenerator<Long> {
+public class SequentialLongSkewedGenerator extends RandomGenerator<Long> implements LongDataGenerator {
   private final Config config;
   private final SequentialLongGenerator sequence;
 
@@ -40,10 +41,15 @@ public class SequentialLongSkewedGenerator extends RandomGenerator<Long> {
   }
 
   @Override
-  public Long generate() {
-    long val = sequence.generate();
+  public void seek(long offset) {
+    sequence.seek(offset);
+  }
+
+  @Override
+  public long generateLong() {
+    long val = sequence.generateLong();
     if (random.nextInt(100) < config.skewChance) {
-      return config.skewMin + randomService.nextLong(config.skewMax - config.skewMin + 1);
+      return nextLong(config.skewMin, config.skewMax);
     }
     return val;
   }
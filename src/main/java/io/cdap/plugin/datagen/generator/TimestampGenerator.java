@@ -16,39 +16,41 @@
 
 package io.cdap.plugin.datagen.generator;
 
-import com.github.javafaker.DateAndTime;
-import io.cdap.plugin.datagen.GeneratorContext;
+import io.cdap.plugin.datagen.ColumnVector;
+import io.cdap.plugin.datagen.LongDataGenerator;
 
-import java.time.Instant;
-import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Generates random timestamps.
  */
-public class TimestampGenerator extends RandomGenerator<Long> {
+public class TimestampGenerator extends RandomGenerator<Long> implements LongDataGenerator {
 
-  private final Date from;
-  private final Date to;
-  private DateAndTime dateAndTime;
+  private final long from;
+  private final long to;
 
   public TimestampGenerator(Config config) {
-    Date now = Date.from(Instant.ofEpochMilli(System.currentTimeMillis()));
-    this.from = config.isAlwaysNow ? now : Date.from(Instant.ofEpochMilli(config.from));
-    this.to = config.isAlwaysNow ? now : Date.from(Instant.ofEpochMilli(config.to));
+    long now = System.currentTimeMillis();
+    this.from = config.isAlwaysNow ? now : config.from;
+    this.to = config.isAlwaysNow ? now : config.to;
   }
 
   @Override
-  public void initialize(GeneratorContext context) {
-    super.initialize(context);
-    dateAndTime = context.getFaker().date();
+  public long generateLong() {
+    // same as faker's DateAndTime.between(), but without creating a Date and Instant for every value
+    if (to < from) {
+      throw new IllegalArgumentException("Invalid date range, the upper bound date is before the lower bound.");
+    }
+    long millis = from == to ? from : from + randomService.nextLong(to - from);
+    return Math.multiplyExact(millis, TimeUnit.MILLISECONDS.toMicros(1));
   }
 
   @Override
-  public Long generate() {
-    Instant instant = dateAndTime.between(from, to).toInstant();
-    long micros = TimeUnit.SECONDS.toMicros(instant.getEpochSecond());
-    return Math.addExact(micros, TimeUnit.NANOSECONDS.toMicros(instant.getNano()));
+  public void generateBatch(int n, ColumnVector out) {
+    long[] values = out.longs();
+    for (int i = 0; i < n; i++) {
+      values[i] = generateLong();
+    }
   }
 
   /**
@@ -16,15 +16,38 @@
 
 package io.cdap.plugin.datagen.generator;
 
-import io.cdap.plugin.datagen.DataGenerator;
+import io.cdap.plugin.datagen.GeneratorContext;
+import io.cdap.plugin.datagen.RandomMode;
+
+import java.util.UUID;
 
 /**
- * Returns a new UUID for each value.
+ * Returns a new random (version 4) UUID for each value. The UUIDs are drawn from the random of the context, so that
+ * they are repeatable with a seed like the rest of the data, except in {@link RandomMode#LEGACY} mode, where they
+ * come from a secure random and do not use up numbers from the random of the context.
  */
-public class UUIDGenerator implements DataGenerator<String> {
-  
+public class UUIDGenerator extends RandomGenerator<String> {
+  private boolean legacy;
+
+  @Override
+  public void initialize(GeneratorContext context) {
+    super.initialize(context);
+    legacy = context.getRandomMode() == RandomMode.LEGACY;
+  }
+
   @Override
   public String generate() {
-    return java.util.UUID.randomUUID().toString();
+    if (legacy) {
+      return UUID.randomUUID().toString();
+    }
+    long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+    long leastSigBits = (random.nextLong() & ~(0x3L << 62)) | (0x2L << 62);
+    return new UUID(mostSigBits, leastSigBits).toString();
+  }
+
+  @Override
+  public int getFixedSize() {
+    // 32 hex digits and 4 dashes
+    return 36;
   }
 }
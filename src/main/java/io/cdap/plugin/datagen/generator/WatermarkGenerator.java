@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen.generator;
+
+import io.cdap.plugin.datagen.EventClock;
+import io.cdap.plugin.datagen.GeneratorContext;
+import io.cdap.plugin.datagen.LongDataGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the watermark of a stream of events generated by an {@link EventTimeGenerator}: the time of the record on
+ * the {@link EventClock} of the stream minus the maximum disorder. Events that are not late always have an event time
+ * at or after the watermark of every record before them. The clock never goes back, so neither does the watermark.
+ */
+public class WatermarkGenerator implements LongDataGenerator {
+  private final Config config;
+  private EventClock clock;
+  private long recordNum;
+
+  public WatermarkGenerator(Config config) {
+    if (config.maxDisorderMillis < 0) {
+      throw new IllegalArgumentException("The maximum disorder must not be negative.");
+    }
+    this.config = config;
+  }
+
+  @Override
+  public void initialize(GeneratorContext context) {
+    clock = context.getEventClock();
+    seek(context.getOffset());
+  }
+
+  @Override
+  public void seek(long offset) {
+    recordNum = offset;
+  }
+
+  @Override
+  public long generateLong() {
+    return TimeUnit.MILLISECONDS.toMicros(clock.getMillis(recordNum++) - config.maxDisorderMillis);
+  }
+
+  /**
+   * Config.
+   */
+  public static class Config {
+    private long maxDisorderMillis;
+
+    public Config() {
+      this(0);
+    }
+
+    public Config(long maxDisorderMillis) {
+      this.maxDisorderMillis = maxDisorderMillis;
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen.generator;
+
+import io.cdap.plugin.datagen.ColumnVector;
+import io.cdap.plugin.datagen.GeneratorContext;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Generates strings chosen from a set of values, each with its own weight, so that values are chosen as often as
+ * they would be in real data. Values are drawn in constant time no matter how many there are, using an alias table
+ * that is built when the generator is initialized.
+ *
+ * Weights are given inline, or in a file with one value per line, followed by a comma and its weight. Values are
+ * interned when the table is built, so generating a value does no work on strings.
+ */
+public class WeightedChoiceGenerator extends RandomGenerator<String> {
+  private final Config config;
+  private String[] values;
+  private AliasTable table;
+
+  public WeightedChoiceGenerator(Config config) {
+    if ((config.weights == null || config.weights.isEmpty()) == (config.file == null || config.file.isEmpty())) {
+      throw new IllegalArgumentException("Either weights or a file of weights must be given.");
+    }
+    this.config = config;
+  }
+
+  @Override
+  public void initialize(GeneratorContext context) {
+    super.initialize(context);
+    if (table != null) {
+      return;
+    }
+    List<String> choices = new ArrayList<>();
+    List<Double> weights = new ArrayList<>();
+    if (config.file == null || config.file.isEmpty()) {
+      for (Map.Entry<String, Double> entry : config.weights.entrySet()) {
+        choices.add(entry.getKey());
+        weights.add(entry.getValue() == null ? 0 : entry.getValue());
+      }
+    } else {
+      try {
+        readWeights(config.file, choices, weights);
+      } catch (IOException e) {
+        throw new UncheckedIOException(String.format("Unable to read weights from '%s'.", config.file), e);
+      }
+    }
+    values = new String[choices.size()];
+    double[] weightArray = new double[choices.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = choices.get(i).intern();
+      weightArray[i] = weights.get(i);
+    }
+    table = new AliasTable(weightArray);
+  }
+
+  /**
+   * Reads lines of a value, a comma and a weight. The weight is after the last comma, so values can contain commas.
+   * Lines without a comma have a weight of 1, and empty lines and lines that start with '#' are skipped.
+   */
+  private static void readWeights(String file, List<String> choices, List<Double> weights) throws IOException {
+    Path path = new Path(file);
+    FileSystem fs = path.getFileSystem(new Configuration());
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(fs.open(path), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.trim().isEmpty() || line.startsWith("#")) {
+          continue;
+        }
+        int separator = line.lastIndexOf(',');
+        if (separator < 0) {
+          choices.add(line);
+          weights.add(1d);
+          continue;
+        }
+        choices.add(line.substring(0, separator));
+        try {
+          weights.add(Double.parseDouble(line.substring(separator + 1).trim()));
+        } catch (NumberFormatException e) {
+          throw new IOException(String.format("Line '%s' does not end with a valid weight.", line), e);
+        }
+      }
+    }
+  }
+
+  @Override
+  public String generate() {
+    return values[table.next(random)];
+  }
+
+  @Override
+  public void generateBatch(int n, ColumnVector out) {
+    Object[] batch = out.objects();
+    for (int i = 0; i < n; i++) {
+      batch[i] = values[table.next(random)];
+    }
+  }
+
+  /**
+   * Config.
+   */
+  public static class Config {
+    private Map<String, Double> weights;
+    private String file;
+
+    public Config() {
+      this(null, null);
+    }
+
+    public Config(@Nullable Map<String, Double> weights, @Nullable String file) {
+      this.weights = weights;
+      this.file = file;
+    }
+  }
+}
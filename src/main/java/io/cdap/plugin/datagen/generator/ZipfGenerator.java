@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen.generator;
+
+import io.cdap.plugin.datagen.FeistelPermutation;
+import io.cdap.plugin.datagen.GeneratorContext;
+import io.cdap.plugin.datagen.LongDataGenerator;
+
+/**
+ * Generates longs in a range with a Zipf distribution, where the k-th most frequent number is generated with a
+ * probability proportional to 1 / k^exponent. Numbers are drawn in constant time no matter how large the range is,
+ * using the rejection-inversion method of Hörmann and Derflinger.
+ *
+ * Without scrambling, the most frequent number is min, the next most frequent is min + 1, and so on. With scrambling,
+ * the ranks are shuffled across the range by a keyed permutation, so hot numbers are spread out the way hot keys
+ * usually are. The permutation is keyed by the scramble key and the seed of the data, so the same key and seed always
+ * shuffle the ranks the same way.
+ */
+public class ZipfGenerator extends RandomGenerator<Long> implements LongDataGenerator {
+  private final Config config;
+  private final double hIntegralX1;
+  private final double hIntegralNumElements;
+  private final double s;
+  private final FeistelPermutation permutation;
+  // seed of the data, which selects the permutation along with the scramble key
+  private long seed;
+
+  public ZipfGenerator(Config config) {
+    if (config.numElements < 1) {
+      throw new IllegalArgumentException("The number of elements must be positive.");
+    }
+    if (config.exponent <= 0) {
+      throw new IllegalArgumentException("The exponent must be positive.");
+    }
+    this.config = config;
+    this.hIntegralX1 = hIntegral(1.5) - 1;
+    this.hIntegralNumElements = hIntegral(config.numElements + 0.5);
+    this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    this.permutation = config.scramble ? new FeistelPermutation(config.numElements, config.scrambleKey) : null;
+  }
+
+  @Override
+  public void initialize(GeneratorContext context) {
+    super.initialize(context);
+    seed = context.getSeed();
+  }
+
+  @Override
+  public long generateLong() {
+    long rank = nextRank() - 1;
+    return config.min + (permutation == null ? rank : permutation.permute(rank, seed));
+  }
+
+  /**
+   * @return rank in [1, numElements]
+   */
+  private long nextRank() {
+    while (true) {
+      double u = hIntegralNumElements + random.nextDouble() * (hIntegralX1 - hIntegralNumElements);
+      double x = hIntegralInverse(u);
+      long k = Math.min(config.numElements, Math.max(1, (long) (x + 0.5)));
+      // accept right away if k is close enough to x, otherwise fall back to the exact test
+      if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+        return k;
+      }
+    }
+  }
+
+  /**
+   * @return the integral of h from 1 to x, offset so that it is well behaved for exponents close to 1
+   */
+  private double hIntegral(double x) {
+    double logX = Math.log(x);
+    return helper2((1 - config.exponent) * logX) * logX;
+  }
+
+  private double h(double x) {
+    return Math.exp(-config.exponent * Math.log(x));
+  }
+
+  private double hIntegralInverse(double x) {
+    double t = Math.max(-1, x * (1 - config.exponent));
+    return Math.exp(helper1(t) * x);
+  }
+
+  /**
+   * @return log(1 + x) / x, accurate for small x
+   */
+  private static double helper1(double x) {
+    return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+  }
+
+  /**
+   * @return (exp(x) - 1) / x, accurate for small x
+   */
+  private static double helper2(double x) {
+    return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x * (1.0 / 3) * (1 + 0.25 * x));
+  }
+
+  /**
+   * Config.
+   */
+  public static class Config {
+    private long min;
+    private long numElements;
+    private double exponent;
+    private boolean scramble;
+    private long scrambleKey;
+
+    public Config() {
+      this(1, 1000000, 1, false, 0);
+    }
+
+    public Config(long min, long numElements, double exponent, boolean scramble, long scrambleKey) {
+      this.min = min;
+      this.numElements = numElements;
+      this.exponent = exponent;
+      this.scramble = scramble;
+      this.scrambleKey = scrambleKey;
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.plugin.datagen.generator.GeneratorType;
+import io.cdap.plugin.datagen.generator.RandomIntGenerator;
+import io.cdap.plugin.datagen.generator.SequentialLongGenerator;
+import org.apache.spark.SparkConf;
+import org.apache.spark.streaming.Durations;
+import org.apache.spark.streaming.api.java.JavaDStream;
+import org.apache.spark.streaming.api.java.JavaStreamingContext;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link DataGeneratorInputDStream}.
+ */
+public class DataGeneratorInputDStreamTest {
+  private static final long BATCH_MILLIS = 200L;
+  private static final int NUM_SPLITS = 2;
+  private static final long RECORDS_PER_SPLIT = 3L;
+  // records of every batch, by batch time. Tests run Spark in local mode, so the output of the stream is in this JVM
+  private static final Map<Long, List<String>> FIRST_RUN = new ConcurrentHashMap<>();
+  private static final Map<Long, List<String>> RECOVERED_RUN = new ConcurrentHashMap<>();
+  // the output function is saved in the checkpoint, so it looks up the run it belongs to instead of capturing it
+  private static volatile Map<Long, List<String>> currentRun = FIRST_RUN;
+
+  @ClassRule
+  public static final TemporaryFolder TMP_FOLDER = new TemporaryFolder();
+
+  @Test
+  public void testRecoverFromCheckpoint() throws Exception {
+    String checkpointDir = TMP_FOLDER.newFolder().getAbsolutePath();
+
+    // the spec has no seed, so the stream chooses one, which has to be recovered from the checkpoint
+    JavaStreamingContext jssc = createContext(checkpointDir);
+    jssc.start();
+    awaitBatches(FIRST_RUN, 3);
+    jssc.stop(true, true);
+    long lastBatchMillis = FIRST_RUN.keySet().stream().mapToLong(Long::longValue).max().getAsLong();
+
+    currentRun = RECOVERED_RUN;
+    jssc = JavaStreamingContext.getOrCreate(checkpointDir, () -> {
+      throw new AssertionError("The streaming context should be recovered from the checkpoint");
+    });
+    jssc.start();
+    awaitBatches(RECOVERED_RUN, FIRST_RUN.size() + 3);
+    jssc.stop(true, true);
+
+    long firstBatchMillis = FIRST_RUN.keySet().stream().mapToLong(Long::longValue).min().getAsLong();
+    boolean continued = false;
+    for (Map.Entry<Long, List<String>> batch : RECOVERED_RUN.entrySet()) {
+      // batches keep their numbers, so ids continue from the batches before the failure instead of starting over
+      long batchNum = (batch.getKey() - firstBatchMillis) / BATCH_MILLIS;
+      List<String> records = batch.getValue();
+      Assert.assertEquals(NUM_SPLITS * RECORDS_PER_SPLIT, records.size());
+      for (int i = 0; i < records.size(); i++) {
+        long expectedId = batchNum * NUM_SPLITS * RECORDS_PER_SPLIT + i + 1;
+        Assert.assertEquals(expectedId, Long.parseLong(records.get(i).split(":")[0]));
+      }
+      // batches that are recomputed after recovery generate exactly the same records, with the same seed
+      if (FIRST_RUN.containsKey(batch.getKey())) {
+        Assert.assertEquals(FIRST_RUN.get(batch.getKey()), records);
+      }
+      continued |= batch.getKey() > lastBatchMillis;
+    }
+    Assert.assertTrue(continued);
+  }
+
+  private static JavaStreamingContext createContext(String checkpointDir) {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG, 0, new SequentialLongGenerator.Config(1L, 1L)));
+    fields.add(new FieldSpec("value", GeneratorType.RANDOM_INT, 0, new RandomIntGenerator.Config(0, 1000000)));
+    DataGeneratorSpec spec = new DataGeneratorSpec(NUM_SPLITS, RECORDS_PER_SPLIT, fields, "test", null);
+
+    SparkConf sparkConf = new SparkConf()
+      .setMaster("local[2]")
+      .setAppName("DataGeneratorInputDStreamTest")
+      .set("spark.ui.enabled", "false");
+    JavaStreamingContext jssc = new JavaStreamingContext(sparkConf, Durations.milliseconds(BATCH_MILLIS));
+    jssc.checkpoint(checkpointDir);
+    JavaDStream<StructuredRecord> stream =
+      new JavaDStream<>(new DataGeneratorInputDStream(jssc.ssc(), spec), DataGeneratorInputDStream.CLASS_TAG);
+    stream.foreachRDD((rdd, time) -> {
+      List<String> records = rdd.map(record -> record.get("id") + ":" + record.get("value")).collect();
+      currentRun.put(time.milliseconds(), new ArrayList<>(records));
+    });
+    return jssc;
+  }
+
+  private static void awaitBatches(Map<Long, List<String>> output, int numBatches) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+    while (output.size() < numBatches && System.nanoTime() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(BATCH_MILLIS);
+    }
+    Assert.assertTrue(output.size() >= numBatches);
+  }
+}
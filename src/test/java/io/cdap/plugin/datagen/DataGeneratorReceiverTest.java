@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.plugin.datagen.generator.GeneratorType;
+import io.cdap.plugin.datagen.generator.RandomIntGenerator;
+import io.cdap.plugin.datagen.generator.SequentialLongGenerator;
+import org.apache.spark.SparkConf;
+import org.apache.spark.streaming.Durations;
+import org.apache.spark.streaming.api.java.JavaDStream;
+import org.apache.spark.streaming.api.java.JavaStreamingContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for {@link DataGeneratorReceiver}.
+ */
+public class DataGeneratorReceiverTest {
+  private static final long BATCH_MILLIS = 200L;
+  // number of records the stream output, across all batches. Tests run Spark in local mode, so the output is in
+  // this JVM
+  private static final AtomicLong NUM_RECORDS = new AtomicLong();
+  // records of every block the stream output, in the order they were stored
+  private static final List<List<String>> BLOCKS = Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  public void testBlocksMatchSplit() throws Exception {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG, 0, new SequentialLongGenerator.Config(1L, 1L)));
+    fields.add(new FieldSpec("value", GeneratorType.RANDOM_INT, 0, new RandomIntGenerator.Config(0, 1000000)));
+    DataGeneratorSpec spec = new DataGeneratorSpec(2, 25, fields, "test", 7L);
+
+    // every stored block is a partition of the batch it was received in
+    JavaStreamingContext jssc = createContext(new SparkConf());
+    JavaDStream<StructuredRecord> stream = DataGeneratorReceiver.createPartitionedDStream(jssc, 1, spec, 500L, 10,
+                                                                                          false, null);
+    stream.foreachRDD(rdd -> BLOCKS.addAll(rdd.map(DataGeneratorReceiverTest::toString).glom().collect()));
+    jssc.start();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+    while (BLOCKS.size() < 6 && System.nanoTime() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(BATCH_MILLIS);
+    }
+    jssc.stop(true, false);
+    Assert.assertTrue(BLOCKS.size() >= 6);
+
+    List<String> expected = new ArrayList<>();
+    FakeDataRecordReader reader = new FakeDataRecordReader();
+    reader.initialize(spec, 25, 25);
+    while (reader.nextKeyValue()) {
+      expected.add(toString(reader.getCurrentValue()));
+    }
+    // the receiver is not unbounded, so every batch generates split 1 again, in full blocks and a remainder
+    for (int i = 0; i < 6; i += 3) {
+      Assert.assertEquals(10, BLOCKS.get(i).size());
+      Assert.assertEquals(10, BLOCKS.get(i + 1).size());
+      Assert.assertEquals(5, BLOCKS.get(i + 2).size());
+      List<String> records = new ArrayList<>();
+      for (int block = i; block < i + 3; block++) {
+        records.addAll(BLOCKS.get(block));
+      }
+      Assert.assertEquals(expected, records);
+    }
+  }
+
+  @Test
+  public void testRateLimitIsApplied() throws Exception {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG, 0, new SequentialLongGenerator.Config(1L, 1L)));
+    DataGeneratorSpec spec = new DataGeneratorSpec(1, 1000, fields, "test", 0L);
+
+    // without the rate limit, the receiver stores blocks of 10 records as fast as Spark takes them
+    long maxRate = 20L;
+    JavaStreamingContext jssc = createContext(new SparkConf()
+                                                .set("spark.streaming.receiver.maxRate", String.valueOf(maxRate)));
+    JavaDStream<StructuredRecord> stream = DataGeneratorReceiver.createPartitionedDStream(jssc, 0, spec, 0L, 10,
+                                                                                          true, null);
+    stream.foreachRDD(rdd -> NUM_RECORDS.addAndGet(rdd.count()));
+    long startNanos = System.nanoTime();
+    jssc.start();
+    TimeUnit.SECONDS.sleep(3);
+    jssc.stop(true, false);
+    double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9d;
+
+    Assert.assertTrue(NUM_RECORDS.get() > 0);
+    Assert.assertTrue(String.format("%d records in %.1f seconds", NUM_RECORDS.get(), elapsedSeconds),
+                      NUM_RECORDS.get() <= maxRate * elapsedSeconds + 10);
+  }
+
+  private static String toString(StructuredRecord record) {
+    return record.get("id") + ":" + record.get("value");
+  }
+
+  private static JavaStreamingContext createContext(SparkConf sparkConf) {
+    // the receiver permanently occupies one of the cores
+    sparkConf
+      .setMaster("local[2]")
+      .setAppName("DataGeneratorReceiverTest")
+      .set("spark.ui.enabled", "false");
+    return new JavaStreamingContext(sparkConf, Durations.milliseconds(BATCH_MILLIS));
+  }
+}
@@ -88,6 +88,8 @@ public class DataGeneratorTest extends HydratorTestBase {
     props.put(DataGeneratorConfig.NUM_SPLITS, "2");
     props.put(DataGeneratorConfig.RECORDS_PER_SPLIT, "2");
     props.put(DataGeneratorConfig.SEED, "0");
+    // the expected values below were generated with java.util.Random
+    props.put(DataGeneratorConfig.RANDOM_MODE, RandomMode.LEGACY.name());
 
     String outputName = UUID.randomUUID().toString();
     ETLBatchConfig config = ETLBatchConfig.builder()
@@ -167,6 +169,8 @@ public class DataGeneratorTest extends HydratorTestBase {
     props.put(DataGeneratorConfig.NUM_SPLITS, "2");
     props.put(DataGeneratorConfig.RECORDS_PER_SPLIT, "2");
     props.put(DataGeneratorConfig.SEED, "0");
+    // the expected values below were generated with java.util.Random
+    props.put(DataGeneratorConfig.RANDOM_MODE, RandomMode.LEGACY.name());
 
     String outputName = UUID.randomUUID().toString();
     ETLBatchConfig config = ETLBatchConfig.builder()
@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import com.google.common.collect.ImmutableMap;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.etl.api.Arguments;
+import io.cdap.plugin.datagen.generator.GeneratorType;
+import io.cdap.plugin.datagen.generator.LoremGenerator;
+import io.cdap.plugin.datagen.generator.NameGenerator;
+import io.cdap.plugin.datagen.generator.RandomBytesGenerator;
+import io.cdap.plugin.datagen.generator.RandomChosenStringGenerator;
+import io.cdap.plugin.datagen.generator.SequentialLongGenerator;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.JobID;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.task.JobContextImpl;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link FakeDataInputFormat}.
+ */
+public class FakeDataInputFormatTest {
+
+  @Test
+  public void testSplitsWithLargeSpec() throws IOException {
+    // enough choices that the spec json is larger than the 64kb that can be written with writeUTF
+    List<String> choices = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      choices.add("choice" + i);
+    }
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG, 0, new SequentialLongGenerator.Config(1L, 1L)));
+    fields.add(new FieldSpec("choice", GeneratorType.RANDOM_CHOSEN_STRING, 0,
+                             new RandomChosenStringGenerator.Config(choices)));
+    DataGeneratorSpec spec = new DataGeneratorSpec(3, 4, fields, "test", 0L);
+
+    Configuration conf = new Configuration();
+    new FakeDataInputFormat(spec).getInputFormatConfiguration().forEach(conf::set);
+    FakeDataInputFormat inputFormat = new FakeDataInputFormat();
+    List<InputSplit> splits = inputFormat.getSplits(new JobContextImpl(conf, new JobID("test", 0)));
+    Assert.assertEquals(3, splits.size());
+
+    TaskAttemptContext context = new TaskAttemptContextImpl(conf, new TaskAttemptID());
+    for (InputSplit inputSplit : splits) {
+      FakeDataInputSplit split = (FakeDataInputSplit) inputSplit;
+      DataOutputBuffer out = new DataOutputBuffer();
+      split.write(out);
+      // the spec is not part of the split
+      Assert.assertEquals(Integer.BYTES + 3 * Long.BYTES, out.getLength());
+
+      DataInputBuffer in = new DataInputBuffer();
+      in.reset(out.getData(), out.getLength());
+      FakeDataInputSplit deserialized = new FakeDataInputSplit();
+      deserialized.readFields(in);
+      Assert.assertEquals(split.getSplitNum(), deserialized.getSplitNum());
+      Assert.assertEquals(split.getLength(), deserialized.getLength());
+      Assert.assertEquals(read(split, context), read(deserialized, context));
+    }
+  }
+
+  @Test
+  public void testSplitLength() throws IOException {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG, 0, new SequentialLongGenerator.Config(1L, 1L)));
+    fields.add(new FieldSpec("payload", GeneratorType.RANDOM_BYTES, 0, new RandomBytesGenerator.Config(100)));
+    fields.add(new FieldSpec("text", GeneratorType.LOREM, 20, new LoremGenerator.Config(50)));
+    fields.add(new FieldSpec("name", GeneratorType.NAME, 0, new NameGenerator.Config(NameGenerator.FIRST_NAME)));
+    DataGeneratorSpec spec = new DataGeneratorSpec(2, 1000, fields, "test", 0L);
+
+    // fixed size fields are exact, adjusted for the chance of being null, and the rest are sampled
+    OutputEstimate estimate = OutputEstimate.of(spec);
+    Assert.assertEquals(8, estimate.getFieldBytes(0), 0);
+    Assert.assertEquals(100, estimate.getFieldBytes(1), 0);
+    Assert.assertEquals(40, estimate.getFieldBytes(2), 0);
+    Assert.assertTrue(estimate.getFieldBytes(3) > 0);
+    Assert.assertEquals(spec.getRecordBytes(), estimate.getRecordBytes());
+    Assert.assertEquals(2000 * estimate.getRecordBytes(), estimate.getTotalBytes());
+
+    // split lengths are in bytes, not records
+    Assert.assertEquals(1000 * spec.getRecordBytes(), new FakeDataInputSplit(spec, 1).getLength());
+  }
+
+  @Test
+  public void testPlannedSplits() throws IOException {
+    // records are 8 bytes, so each split of 800 bytes has 100 records
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG, 0, new SequentialLongGenerator.Config(1L, 1L)));
+    DataGeneratorSpec spec = new DataGeneratorSpec(1, 1, fields, "test", 0L);
+
+    // 10 splits are rounded up to 12 to fill the last wave of 4 tasks, and the last split holds the remainder
+    List<Long> sizes = new ArrayList<>();
+    for (int i = 0; i < 11; i++) {
+      sizes.add(84L);
+    }
+    sizes.add(76L);
+    Assert.assertEquals(sizes, readPlannedSplits(spec.withSplitPlanner(new SplitPlanner(1000, 0, 800, 4)),
+                                                 new Configuration()));
+    // the total can also be given as a size, and the parallelism can come from the engine properties
+    SplitPlanner planner = new SplitPlanner(0, 8000, 800, 0)
+      .withParallelism(arguments("system.spark.spark.default.parallelism", "4"));
+    Assert.assertEquals(sizes, readPlannedSplits(spec.withSplitPlanner(planner), new Configuration()));
+    // there is a split for every task, even if the splits are smaller than the split size
+    Assert.assertEquals(Arrays.asList(2L, 2L, 1L),
+                        readPlannedSplits(spec.withSplitPlanner(new SplitPlanner(5, 0, 800, 3)), new Configuration()));
+  }
+
+  @Test
+  public void testPlannedSplitsWithoutParallelism() throws IOException {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG, 0, new SequentialLongGenerator.Config(1L, 1L)));
+    DataGeneratorSpec spec = new DataGeneratorSpec(1, 1, fields, "test", 0L);
+
+    // without a parallelism, there are as many splits of the split size as the records need
+    SplitPlanner planner = new SplitPlanner(1000, 0, 800, 0).withParallelism(arguments());
+    Assert.assertEquals(Arrays.asList(100L, 100L, 100L, 100L, 100L, 100L, 100L, 100L, 100L, 100L),
+                        readPlannedSplits(spec.withSplitPlanner(planner), new Configuration()));
+  }
+
+  /**
+   * Reads all the planned splits of a spec, checking that the records follow each other.
+   *
+   * @return number of records in each split
+   */
+  private static List<Long> readPlannedSplits(DataGeneratorSpec spec, Configuration conf) throws IOException {
+    new FakeDataInputFormat(spec).getInputFormatConfiguration().forEach(conf::set);
+    List<InputSplit> splits = new FakeDataInputFormat().getSplits(new JobContextImpl(conf, new JobID("test", 0)));
+    TaskAttemptContext context = new TaskAttemptContextImpl(conf, new TaskAttemptID());
+    List<Long> sizes = new ArrayList<>();
+    long id = 1;
+    for (InputSplit split : splits) {
+      List<StructuredRecord> records = read((FakeDataInputSplit) split, context);
+      for (StructuredRecord record : records) {
+        Assert.assertEquals(id++, (long) record.<Long>get("id"));
+      }
+      sizes.add((long) records.size());
+    }
+    return sizes;
+  }
+
+  /**
+   * @return runtime arguments with the given names and values
+   */
+  private static Arguments arguments(String... namesAndValues) {
+    ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      builder.put(namesAndValues[i], namesAndValues[i + 1]);
+    }
+    Map<String, String> map = builder.build();
+    return new Arguments() {
+      @Override
+      public boolean has(String name) {
+        return map.containsKey(name);
+      }
+
+      @Override
+      public String get(String name) {
+        return map.get(name);
+      }
+
+      @Override
+      public Iterator<Map.Entry<String, String>> iterator() {
+        return map.entrySet().iterator();
+      }
+    };
+  }
+
+  @Test(expected = IOException.class)
+  public void testMissingSpec() throws IOException {
+    FakeDataInputFormat.getSpec(new Configuration());
+  }
+
+  private static List<StructuredRecord> read(FakeDataInputSplit split, TaskAttemptContext context)
+    throws IOException {
+    FakeDataRecordReader reader = new FakeDataRecordReader();
+    reader.initialize(split, context);
+    List<StructuredRecord> records = new ArrayList<>();
+    while (reader.nextKeyValue()) {
+      records.add(reader.getCurrentValue());
+    }
+    return records;
+  }
+}
@@ -0,0 +1,586 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.plugin.datagen.generator.AddressGenerator;
+import io.cdap.plugin.datagen.generator.EmailGenerator;
+import io.cdap.plugin.datagen.generator.EventTimeGenerator;
+import io.cdap.plugin.datagen.generator.GaussianGenerator;
+import io.cdap.plugin.datagen.generator.GeneratorType;
+import io.cdap.plugin.datagen.generator.NameGenerator;
+import io.cdap.plugin.datagen.generator.PermutedLongGenerator;
+import io.cdap.plugin.datagen.generator.PowerLawGenerator;
+import io.cdap.plugin.datagen.generator.RandomBytesSlabGenerator;
+import io.cdap.plugin.datagen.generator.RandomIntGenerator;
+import io.cdap.plugin.datagen.generator.RandomIntSkewedGenerator;
+import io.cdap.plugin.datagen.generator.RandomLongGenerator;
+import io.cdap.plugin.datagen.generator.RandomLongSkewedGenerator;
+import io.cdap.plugin.datagen.generator.SequentialLongGenerator;
+import io.cdap.plugin.datagen.generator.SequentialLongSkewedGenerator;
+import io.cdap.plugin.datagen.generator.WatermarkGenerator;
+import io.cdap.plugin.datagen.generator.WeightedChoiceGenerator;
+import io.cdap.plugin.datagen.generator.ZipfGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link FakeDataRecordReader}.
+ */
+public class FakeDataRecordReaderTest {
+
+  @Test
+  public void testCounterModeIndependentOfSplits() throws IOException {
+    List<StructuredRecord> twoSplits = readAll(createSpec(2, 6, RandomMode.COUNTER));
+    List<StructuredRecord> threeSplits = readAll(createSpec(3, 4, RandomMode.COUNTER));
+    List<StructuredRecord> oneSplit = readAll(createSpec(1, 12, RandomMode.COUNTER));
+    Assert.assertEquals(12, oneSplit.size());
+    Assert.assertEquals(oneSplit, twoSplits);
+    Assert.assertEquals(oneSplit, threeSplits);
+    // a sequence still moves past records where it is null, so every value is its record number
+    int nulls = 0;
+    for (int i = 0; i < oneSplit.size(); i++) {
+      Long sequence = oneSplit.get(i).get("sequence");
+      if (sequence == null) {
+        nulls++;
+      } else {
+        Assert.assertEquals(i, (long) sequence);
+      }
+    }
+    Assert.assertTrue(nulls > 0 && nulls < oneSplit.size());
+  }
+
+  @Test
+  public void testSeek() throws IOException {
+    DataGeneratorSpec spec = createSpec(1, 10, RandomMode.COUNTER);
+    List<StructuredRecord> records = readAll(spec);
+
+    FakeDataRecordReader reader = new FakeDataRecordReader();
+    reader.initialize(spec, 0, 10);
+    reader.seek(7);
+    Assert.assertTrue(reader.nextKeyValue());
+    Assert.assertEquals(records.get(7), reader.getCurrentValue());
+    Assert.assertTrue(reader.nextKeyValue());
+    Assert.assertEquals(records.get(8), reader.getCurrentValue());
+    reader.seek(3);
+    Assert.assertTrue(reader.nextKeyValue());
+    Assert.assertEquals(records.get(3), reader.getCurrentValue());
+    reader.seek(10);
+    Assert.assertFalse(reader.nextKeyValue());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSeekRequiresCounterMode() throws IOException {
+    FakeDataRecordReader reader = new FakeDataRecordReader();
+    reader.initialize(createSpec(1, 10, RandomMode.SEQUENTIAL), 0, 10);
+    reader.seek(5);
+  }
+
+  @Test
+  public void testContinueAt() throws IOException {
+    List<StructuredRecord> records = readAll(createSpec(4, 5, RandomMode.COUNTER));
+
+    // moving a reader on to another range generates the same records as a new reader in counter mode
+    FakeDataRecordReader reader = new FakeDataRecordReader();
+    reader.initialize(createSpec(4, 5, RandomMode.COUNTER), 0, 5);
+    for (int split : new int[] { 0, 2, 3 }) {
+      if (split > 0) {
+        reader.continueAt(split * 5, 5);
+      }
+      for (int i = 0; i < 5; i++) {
+        Assert.assertTrue(reader.nextKeyValue());
+        Assert.assertEquals(records.get(split * 5 + i), reader.getCurrentValue());
+      }
+      Assert.assertFalse(reader.nextKeyValue());
+    }
+
+    // in other modes sequential values still follow the new range
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG, 0, new SequentialLongGenerator.Config(1L, 1L)));
+    reader = new FakeDataRecordReader();
+    reader.initialize(new DataGeneratorSpec(4, 5, fields, "test", 42L, RandomMode.SEQUENTIAL, 2), 0, 5);
+    reader.continueAt(15, 5);
+    for (long i = 15; i < 20; i++) {
+      Assert.assertTrue(reader.nextKeyValue());
+      Assert.assertEquals(i + 1, (long) reader.getCurrentValue().<Long>get("id"));
+    }
+    Assert.assertFalse(reader.nextKeyValue());
+  }
+
+  @Test
+  public void testColumnBatchesInCounterMode() throws IOException {
+    List<StructuredRecord> records = readAll(createSpec(2, 10, RandomMode.COUNTER, 0));
+    // batches that do not evenly divide the split should generate the same records as generating one at a time
+    Assert.assertEquals(records, readAll(createSpec(2, 10, RandomMode.COUNTER, 3)));
+    Assert.assertEquals(records, readAll(createSpec(2, 10, RandomMode.COUNTER, 100)));
+  }
+
+  @Test
+  public void testColumnBatchesAreDeterministic() throws IOException {
+    for (RandomMode randomMode : new RandomMode[] { RandomMode.SEQUENTIAL, RandomMode.LEGACY }) {
+      List<StructuredRecord> records = readAll(createSpec(2, 10, randomMode, 4));
+      Assert.assertEquals(20, records.size());
+      Assert.assertEquals(records, readAll(createSpec(2, 10, randomMode, 4)));
+      for (StructuredRecord record : records) {
+        Integer age = record.get("age");
+        Assert.assertTrue(age == null || (age >= 18 && age <= 100));
+      }
+    }
+  }
+
+  @Test
+  public void testEventTimes() throws IOException {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("watermark", GeneratorType.WATERMARK, 0, new WatermarkGenerator.Config(1000L)));
+    fields.add(new FieldSpec("ts", GeneratorType.EVENT_TIME, 0, new EventTimeGenerator.Config(1000L, 20, 5000L)));
+    // a record every 10 milliseconds
+    EventClock clock = new EventClock(1600000000000L, 100d);
+    DataGeneratorSpec spec = new DataGeneratorSpec(1, 10000, fields, "test", 42L, RandomMode.COUNTER)
+      .withEventClock(clock);
+    List<StructuredRecord> records = readAll(spec);
+
+    int late = 0;
+    long lastWatermark = Long.MIN_VALUE;
+    for (int i = 0; i < records.size(); i++) {
+      StructuredRecord record = records.get(i);
+      long time = TimeUnit.MILLISECONDS.toMicros(clock.getMillis(i));
+      long watermark = record.get("watermark");
+      long ts = record.get("ts");
+      Assert.assertEquals(time - TimeUnit.MILLISECONDS.toMicros(1000L), watermark);
+      Assert.assertTrue(watermark >= lastWatermark);
+      lastWatermark = watermark;
+      Assert.assertTrue(ts <= time);
+      if (ts < watermark) {
+        late++;
+        Assert.assertTrue(ts >= time - TimeUnit.MILLISECONDS.toMicros(6001L));
+      } else {
+        Assert.assertTrue(ts >= time - TimeUnit.MILLISECONDS.toMicros(1000L));
+      }
+    }
+    Assert.assertTrue(late > 1500 && late < 2500);
+
+    // times only depend on the clock and the record, so records are the same however they are generated
+    Assert.assertEquals(records, readAll(new DataGeneratorSpec(4, 2500, fields, "test", 42L, RandomMode.COUNTER)
+                                           .withEventClock(clock)));
+    FakeDataRecordReader reader = new FakeDataRecordReader();
+    reader.initialize(spec, 0, 10000);
+    reader.seek(9000);
+    Assert.assertTrue(reader.nextKeyValue());
+    Assert.assertEquals(records.get(9000), reader.getCurrentValue());
+  }
+
+  @Test
+  public void testNullableEventTimes() throws IOException {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("watermark", GeneratorType.WATERMARK, 0, new WatermarkGenerator.Config(1000L)));
+    fields.add(new FieldSpec("ts", GeneratorType.EVENT_TIME, 50, new EventTimeGenerator.Config(1000L, 0, 0L)));
+    EventClock clock = new EventClock(1600000000000L, 100d);
+    for (RandomMode randomMode : RandomMode.values()) {
+      List<StructuredRecord> records = readAll(new DataGeneratorSpec(4, 1000, fields, "test", 42L, randomMode)
+                                                 .withEventClock(clock));
+      // event times follow the record number, so they keep up with the watermark however many of them are null
+      int nulls = 0;
+      for (int i = 0; i < records.size(); i++) {
+        StructuredRecord record = records.get(i);
+        Long ts = record.get("ts");
+        if (ts == null) {
+          nulls++;
+          continue;
+        }
+        Assert.assertTrue(ts >= record.<Long>get("watermark"));
+        Assert.assertTrue(ts <= TimeUnit.MILLISECONDS.toMicros(clock.getMillis(i)));
+      }
+      Assert.assertTrue(nulls > 1500 && nulls < 2500);
+    }
+  }
+
+  @Test
+  public void testZipf() throws IOException {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("key", GeneratorType.ZIPF, 0, new ZipfGenerator.Config(1L, 1000L, 1, false, 0L)));
+    fields.add(new FieldSpec("scrambled", GeneratorType.ZIPF, 0, new ZipfGenerator.Config(1L, 1000L, 1, true, 7L)));
+    fields.add(new FieldSpec("amount", GeneratorType.POWER_LAW, 0, new PowerLawGenerator.Config(1, 0, 2)));
+    List<StructuredRecord> records = readAll(new DataGeneratorSpec(1, 100000, fields, "test", 42L));
+
+    Map<Long, Integer> counts = new HashMap<>();
+    Map<Long, Integer> scrambledCounts = new HashMap<>();
+    int belowMedian = 0;
+    for (StructuredRecord record : records) {
+      long key = record.get("key");
+      long scrambled = record.get("scrambled");
+      Assert.assertTrue(key >= 1 && key <= 1000);
+      Assert.assertTrue(scrambled >= 1 && scrambled <= 1000);
+      counts.merge(key, 1, Integer::sum);
+      scrambledCounts.merge(scrambled, 1, Integer::sum);
+      double amount = record.get("amount");
+      Assert.assertTrue(amount >= 1);
+      if (amount < 2) {
+        belowMedian++;
+      }
+    }
+    // with an exponent of 1, the k-th number has a chance of 1 / (k * H(1000)), which is about 13.4% for the first
+    Assert.assertEquals(13360, counts.get(1L), 700);
+    Assert.assertEquals(6680, counts.get(2L), 500);
+    Assert.assertEquals(1336, counts.get(10L), 250);
+    // scrambling moves the hot numbers, but keeps their frequencies
+    List<Integer> frequencies = new ArrayList<>(counts.values());
+    List<Integer> scrambledFrequencies = new ArrayList<>(scrambledCounts.values());
+    frequencies.sort(Collections.reverseOrder());
+    scrambledFrequencies.sort(Collections.reverseOrder());
+    Assert.assertEquals(frequencies.get(0), scrambledFrequencies.get(0), 700);
+    Assert.assertTrue(scrambledCounts.getOrDefault(1L, 0) < 1000);
+    // the hot numbers are spread out differently for a different seed
+    Map<Long, Integer> otherSeedCounts = new HashMap<>();
+    for (StructuredRecord record : readAll(new DataGeneratorSpec(1, 100000, fields, "test", 1L))) {
+      otherSeedCounts.merge(record.get("scrambled"), 1, Integer::sum);
+    }
+    Assert.assertNotEquals(hottest(scrambledCounts), hottest(otherSeedCounts));
+    // the median of a power law with an exponent of 2 is twice the minimum
+    Assert.assertEquals(50000, belowMedian, 1000);
+  }
+
+  @Test
+  public void testWeightedChoice() throws IOException {
+    Map<String, Double> weights = new LinkedHashMap<>();
+    weights.put("a", 1d);
+    weights.put("b", 3d);
+    weights.put("c", 0d);
+    weights.put("d", 6d);
+    Path file = Files.createTempFile("weights", ".csv");
+    try {
+      Files.write(file, Arrays.asList("# value,weight", "x,y,9", "z"));
+      List<FieldSpec> fields = new ArrayList<>();
+      fields.add(new FieldSpec("inline", GeneratorType.WEIGHTED_CHOICE, 0,
+                               new WeightedChoiceGenerator.Config(weights, null)));
+      fields.add(new FieldSpec("file", GeneratorType.WEIGHTED_CHOICE, 0,
+                               new WeightedChoiceGenerator.Config(null, file.toString())));
+      List<StructuredRecord> records = readAll(new DataGeneratorSpec(1, 100000, fields, "test", 42L));
+
+      Map<String, Integer> counts = new HashMap<>();
+      Map<String, Integer> fileCounts = new HashMap<>();
+      String first = records.get(0).get("inline");
+      for (StructuredRecord record : records) {
+        String value = record.get("inline");
+        counts.merge(value, 1, Integer::sum);
+        fileCounts.merge(record.get("file"), 1, Integer::sum);
+        // values are shared instead of being created for every record
+        if (value.equals(first)) {
+          Assert.assertSame(first, value);
+        }
+      }
+      Assert.assertEquals(10000, counts.get("a"), 600);
+      Assert.assertEquals(30000, counts.get("b"), 1000);
+      Assert.assertNull(counts.get("c"));
+      Assert.assertEquals(60000, counts.get("d"), 1000);
+      // values can contain commas, and lines without a weight have a weight of 1
+      Assert.assertEquals(90000, fileCounts.get("x,y"), 1000);
+      Assert.assertEquals(10000, fileCounts.get("z"), 1000);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testDictionaries() throws IOException {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("name", GeneratorType.NAME, 0, new NameGenerator.Config(NameGenerator.FULL_NAME, 50)));
+    fields.add(new FieldSpec("email", GeneratorType.EMAIL, 10, new EmailGenerator.Config(100)));
+    // there are fewer states than the dictionary size, so the dictionary only holds the states that exist
+    fields.add(new FieldSpec("state", GeneratorType.ADDRESS, 0, new AddressGenerator.Config("state", 1000)));
+    DataGeneratorSpec spec = new DataGeneratorSpec(4, 2500, fields, "test", 42L);
+    List<StructuredRecord> records = readAll(spec);
+
+    // splits share the dictionaries, so the number of distinct values does not depend on the number of splits
+    Set<String> names = new HashSet<>();
+    Set<String> emails = new HashSet<>();
+    Set<String> states = new HashSet<>();
+    for (StructuredRecord record : records) {
+      names.add(record.get("name"));
+      String email = record.get("email");
+      if (email != null) {
+        emails.add(email);
+      }
+      states.add(record.get("state"));
+    }
+    Assert.assertEquals(50, names.size());
+    Assert.assertEquals(100, emails.size());
+    Assert.assertTrue(states.size() > 10 && states.size() < 1000);
+    Assert.assertEquals(records, readAll(spec));
+  }
+
+  @Test
+  public void testCardinality() throws IOException {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("customer_id", GeneratorType.SEQUENTIAL_LONG, 0, 1000,
+                             new SequentialLongGenerator.Config(1L, 1L)));
+    fields.add(new FieldSpec("email", GeneratorType.EMAIL, 0, 300, null));
+    fields.add(new FieldSpec("uuid", GeneratorType.UUID, 0, 500, null));
+    fields.add(new FieldSpec("amount", GeneratorType.RANDOM_LONG, 0, 7000, new RandomLongGenerator.Config()));
+    List<StructuredRecord> records = readAll(new DataGeneratorSpec(4, 3000, fields, "test", 42L));
+
+    Map<String, Set<Object>> distinct = new HashMap<>();
+    for (StructuredRecord record : records) {
+      for (FieldSpec field : fields) {
+        distinct.computeIfAbsent(field.getName(), name -> new HashSet<>()).add(record.get(field.getName()));
+      }
+      long id = record.get("customer_id");
+      Assert.assertTrue(id >= 1 && id <= 1000);
+    }
+    Assert.assertEquals(1000, distinct.get("customer_id").size());
+    Assert.assertEquals(300, distinct.get("email").size());
+    Assert.assertEquals(500, distinct.get("uuid").size());
+    Assert.assertEquals(7000, distinct.get("amount").size());
+    // the value of every record only depends on its record number, whatever the splits are or how they are generated
+    Assert.assertEquals(records, readAll(new DataGeneratorSpec(3, 4000, fields, "test", 42L)));
+    Assert.assertEquals(records, readAll(new DataGeneratorSpec(2, 6000, fields, "test", 42L, RandomMode.COUNTER)));
+    Assert.assertEquals(records, readAll(new DataGeneratorSpec(4, 3000, fields, "test", 42L, null, 128)));
+  }
+
+  @Test
+  public void testNullableCardinality() throws IOException {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("customer_id", GeneratorType.SEQUENTIAL_LONG, 30, 8,
+                             new SequentialLongGenerator.Config(1L, 1L)));
+    List<StructuredRecord> records = readAll(new DataGeneratorSpec(1, 24, fields, "test", 42L, RandomMode.COUNTER));
+
+    // null records still use up their key, so every cycle of 8 records uses each key at most once
+    int nulls = 0;
+    for (int cycle = 0; cycle < 3; cycle++) {
+      Set<Long> ids = new HashSet<>();
+      for (int i = cycle * 8; i < cycle * 8 + 8; i++) {
+        Long id = records.get(i).get("customer_id");
+        if (id == null) {
+          nulls++;
+        } else {
+          Assert.assertTrue(id >= 1 && id <= 8);
+          Assert.assertTrue(ids.add(id));
+        }
+      }
+    }
+    Assert.assertTrue(nulls > 0);
+    Assert.assertEquals(records, readAll(new DataGeneratorSpec(3, 8, fields, "test", 42L, RandomMode.COUNTER)));
+    Assert.assertEquals(records, readAll(new DataGeneratorSpec(4, 6, fields, "test", 42L, RandomMode.COUNTER)));
+  }
+
+  @Test
+  public void testPermutedLong() throws IOException {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.PERMUTED_LONG, 0,
+                             new PermutedLongGenerator.Config(1000L, 10000L, 7L)));
+    fields.add(new FieldSpec("big_id", GeneratorType.PERMUTED_LONG, 0, new PermutedLongGenerator.Config()));
+    fields.add(new FieldSpec("cycled", GeneratorType.PERMUTED_LONG, 0,
+                             new PermutedLongGenerator.Config(0L, 10L, 0L)));
+    DataGeneratorSpec spec = new DataGeneratorSpec(4, 2500, fields, "test", 42L, RandomMode.COUNTER);
+    List<StructuredRecord> records = readAll(spec);
+
+    Set<Long> ids = new HashSet<>();
+    Set<Long> bigIds = new HashSet<>();
+    Map<Long, Integer> cycledCounts = new HashMap<>();
+    int ascending = 0;
+    long previous = Long.MIN_VALUE;
+    for (StructuredRecord record : records) {
+      long id = record.get("id");
+      Assert.assertTrue(id >= 1000 && id < 11000);
+      ids.add(id);
+      ascending += id > previous ? 1 : 0;
+      previous = id;
+      long bigId = record.get("big_id");
+      Assert.assertTrue(bigId >= 0);
+      bigIds.add(bigId);
+      cycledCounts.merge(record.get("cycled"), 1, Integer::sum);
+    }
+    Assert.assertEquals(10000, ids.size());
+    Assert.assertEquals(10000, bigIds.size());
+    // ids are shuffled, so only about half of them are larger than the one before
+    Assert.assertTrue(ascending > 4000 && ascending < 6000);
+    // after running out of numbers, the sequence starts over
+    Assert.assertEquals(10, cycledCounts.size());
+    Assert.assertEquals(Collections.singleton(1000), new HashSet<>(cycledCounts.values()));
+
+    // the numbers only depend on the key, the seed and the record number, not on the splits
+    Assert.assertEquals(records, readAll(new DataGeneratorSpec(5, 2000, fields, "test", 42L)));
+    List<StructuredRecord> otherSeedRecords = readAll(new DataGeneratorSpec(5, 2000, fields, "test", 1L));
+    int same = 0;
+    for (int i = 0; i < records.size(); i++) {
+      same += records.get(i).get("id").equals(otherSeedRecords.get(i).get("id")) ? 1 : 0;
+    }
+    Assert.assertTrue(same < 100);
+    FakeDataRecordReader reader = new FakeDataRecordReader();
+    reader.initialize(spec, 5000, 2500);
+    reader.seek(7000);
+    Assert.assertTrue(reader.nextKeyValue());
+    Assert.assertEquals(records.get(7000), reader.getCurrentValue());
+  }
+
+  @Test
+  public void testFeistelPermutation() {
+    for (long size : new long[] { 1, 2, 3, 1000, 1 << 16 }) {
+      FeistelPermutation permutation = new FeistelPermutation(size, 42L);
+      Set<Long> values = new HashSet<>();
+      Set<Long> tweakedValues = new HashSet<>();
+      for (long i = 0; i < size; i++) {
+        long value = permutation.permute(i);
+        Assert.assertTrue(value >= 0 && value < size);
+        Assert.assertEquals(value, permutation.permute(i, 0L));
+        values.add(value);
+        long tweakedValue = permutation.permute(i, 5L);
+        Assert.assertTrue(tweakedValue >= 0 && tweakedValue < size);
+        tweakedValues.add(tweakedValue);
+      }
+      Assert.assertEquals(size, values.size());
+      Assert.assertEquals(size, tweakedValues.size());
+    }
+    // different keys and different tweaks shuffle the range differently
+    FeistelPermutation permutation = new FeistelPermutation(1000, 1L);
+    FeistelPermutation other = new FeistelPermutation(1000, 2L);
+    int same = 0;
+    int sameTweaked = 0;
+    for (long i = 0; i < 1000; i++) {
+      if (permutation.permute(i) == other.permute(i)) {
+        same++;
+      }
+      if (permutation.permute(i) == permutation.permute(i, 3L)) {
+        sameTweaked++;
+      }
+    }
+    Assert.assertTrue(same < 20);
+    Assert.assertTrue(sameTweaked < 20);
+  }
+
+  @Test
+  public void testDefaultRanges() throws IOException {
+    // the default ranges contain more numbers than can be passed as a bound to Random
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("int", GeneratorType.RANDOM_INT, 0, new RandomIntGenerator.Config()));
+    fields.add(new FieldSpec("long", GeneratorType.RANDOM_LONG, 0, new RandomLongGenerator.Config()));
+    fields.add(new FieldSpec("int_skewed", GeneratorType.RANDOM_INT_SKEWED, 0, new RandomIntSkewedGenerator.Config()));
+    fields.add(new FieldSpec("long_skewed", GeneratorType.RANDOM_LONG_SKEWED, 0,
+                             new RandomLongSkewedGenerator.Config()));
+    for (StructuredRecord record : readAll(new DataGeneratorSpec(1, 1000, fields, "test", 42L))) {
+      Assert.assertTrue(record.<Integer>get("int") >= 0);
+      Assert.assertTrue(record.<Long>get("long") >= 0);
+      Assert.assertTrue(record.<Integer>get("int_skewed") >= 0);
+      Assert.assertTrue(record.<Long>get("long_skewed") >= 0);
+    }
+  }
+
+  @Test
+  public void testGeneratorThreads() throws IOException {
+    // splits span several chunks, and the last chunk of each split is only partly filled
+    List<StructuredRecord> records = readAll(createSpec(2, 10000, RandomMode.COUNTER));
+    Assert.assertEquals(records, readAll(createSpec(2, 10000, RandomMode.COUNTER).withGeneratorThreads(3)));
+
+    // seeking restarts the workers at the new record
+    FakeDataRecordReader reader = new FakeDataRecordReader();
+    reader.initialize(createSpec(2, 10000, RandomMode.COUNTER).withGeneratorThreads(3), 10000, 10000);
+    reader.seek(15000);
+    for (int i = 15000; i < 20000; i++) {
+      Assert.assertTrue(reader.nextKeyValue());
+      Assert.assertEquals(records.get(i), reader.getCurrentValue());
+    }
+    Assert.assertFalse(reader.nextKeyValue());
+
+    // initializing the reader with another spec generates the data of the new spec
+    DataGeneratorSpec otherSpec = new DataGeneratorSpec(2, 10000, createSpec(2, 10000, RandomMode.COUNTER).getFields(),
+                                                        "test", 7L, RandomMode.COUNTER).withGeneratorThreads(2);
+    List<StructuredRecord> otherRecords = readAll(otherSpec.withGeneratorThreads(1));
+    reader.initialize(otherSpec, 0, 10000);
+    for (int i = 0; i < 10000; i++) {
+      Assert.assertTrue(reader.nextKeyValue());
+      Assert.assertEquals(otherRecords.get(i), reader.getCurrentValue());
+    }
+    reader.close();
+
+    // in other modes the data depends on the chunks, but is the same no matter how many threads generate them
+    DataGeneratorSpec spec = createSpec(2, 10000, RandomMode.SEQUENTIAL);
+    records = readAll(spec.withGeneratorThreads(2));
+    Assert.assertEquals(20000, records.size());
+    Assert.assertEquals(records, readAll(spec.withGeneratorThreads(4)));
+  }
+
+  @Test
+  public void testGeneratorThreadsInterrupted() throws IOException {
+    FakeDataRecordReader reader = new FakeDataRecordReader();
+    reader.initialize(createSpec(1, 10000, RandomMode.SEQUENTIAL).withGeneratorThreads(2), 0, 10000);
+    Thread.currentThread().interrupt();
+    try {
+      reader.nextKeyValue();
+      Assert.fail("Reading records generated by other threads should fail when the thread is interrupted.");
+    } catch (InterruptedIOException e) {
+      // the split must not end early as if it had no more records
+      Assert.assertTrue(Thread.interrupted());
+    } finally {
+      reader.close();
+    }
+  }
+
+  /**
+   * @return the number that occurs the most
+   */
+  private static long hottest(Map<Long, Integer> counts) {
+    return Collections.max(counts.entrySet(), Map.Entry.comparingByValue()).getKey();
+  }
+
+  private static DataGeneratorSpec createSpec(int numSplits, long recordsPerSplit, RandomMode randomMode) {
+    return createSpec(numSplits, recordsPerSplit, randomMode, 0);
+  }
+
+  private static DataGeneratorSpec createSpec(int numSplits, long recordsPerSplit, RandomMode randomMode,
+                                              int columnBatchSize) {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG_SKEWED, 0,
+                             new SequentialLongSkewedGenerator.Config(1L, 1L, 1L, 5L, 20)));
+    fields.add(new FieldSpec("name", GeneratorType.NAME, 10, new NameGenerator.Config(NameGenerator.FULL_NAME)));
+    fields.add(new FieldSpec("age", GeneratorType.RANDOM_INT, 10, new RandomIntGenerator.Config(18, 100)));
+    fields.add(new FieldSpec("score", GeneratorType.GAUSSIAN, 10, new GaussianGenerator.Config(0, 100)));
+    fields.add(new FieldSpec("user_id", GeneratorType.RANDOM_LONG_SKEWED, 0,
+                             new RandomLongSkewedGenerator.Config(1L, 1000L, 1L, 10L, 20)));
+    fields.add(new FieldSpec("payload", GeneratorType.RANDOM_BYTES_SLAB, 0,
+                             new RandomBytesSlabGenerator.Config(16, 1)));
+    fields.add(new FieldSpec("sequence", GeneratorType.SEQUENTIAL_LONG, 50,
+                             new SequentialLongGenerator.Config(0L, 1L)));
+    return new DataGeneratorSpec(numSplits, recordsPerSplit, fields, "test", 42L, randomMode, columnBatchSize);
+  }
+
+  private static List<StructuredRecord> readAll(DataGeneratorSpec spec) throws IOException {
+    List<StructuredRecord> records = new ArrayList<>();
+    for (int split = 0; split < spec.getNumSplits(); split++) {
+      FakeDataRecordReader reader = new FakeDataRecordReader();
+      reader.initialize(new FakeDataInputSplit(spec, split), null);
+      while (reader.nextKeyValue()) {
+        records.add(reader.getCurrentValue());
+      }
+      reader.close();
+    }
+    return records;
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import com.google.common.base.Ticker;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link RatePacer}.
+ */
+public class RatePacerTest {
+
+  @Test
+  public void testConstantRate() throws InterruptedException {
+    FakeClock clock = new FakeClock();
+    RatePacer pacer = clock.pacer(100, RateUnit.RECORDS_PER_SECOND, RateProfile.CONSTANT, 0, 0);
+    acquire(pacer, 1000);
+    Assert.assertEquals(10d, clock.seconds(), 0.01d);
+  }
+
+  @Test
+  public void testBytesRate() throws InterruptedException {
+    FakeClock clock = new FakeClock();
+    RatePacer pacer = clock.pacer(2, RateUnit.MEGABYTES_PER_SECOND, RateProfile.CONSTANT, 0, 0);
+    // 20mb in records of 1kb
+    for (int i = 0; i < 20 * 1024; i++) {
+      pacer.acquire(1024);
+    }
+    Assert.assertEquals(10d, clock.seconds(), 0.01d);
+  }
+
+  @Test
+  public void testLinearRamp() throws InterruptedException {
+    FakeClock clock = new FakeClock();
+    RatePacer pacer = clock.pacer(100, RateUnit.RECORDS_PER_SECOND, RateProfile.LINEAR, 60, 0);
+    // the ramp allows half the records that the target rate would
+    acquire(pacer, 3000);
+    Assert.assertEquals(60d, clock.seconds(), 0.2d);
+    acquire(pacer, 1000);
+    Assert.assertEquals(70d, clock.seconds(), 0.2d);
+  }
+
+  @Test
+  public void testStepRamp() throws InterruptedException {
+    FakeClock clock = new FakeClock();
+    RatePacer pacer = clock.pacer(100, RateUnit.RECORDS_PER_SECOND, RateProfile.STEP, 40, 4);
+    Assert.assertEquals(25d, pacer.rateAt(5), 0d);
+    Assert.assertEquals(75d, pacer.rateAt(25), 0d);
+    Assert.assertEquals(100d, pacer.rateAt(45), 0d);
+    // 10 seconds at each of 25, 50, 75 and 100 records per second
+    acquire(pacer, 250);
+    Assert.assertEquals(10d, clock.seconds(), 0.1d);
+    acquire(pacer, 2250);
+    Assert.assertEquals(40d, clock.seconds(), 0.1d);
+  }
+
+  @Test
+  public void testSineAveragesToTarget() throws InterruptedException {
+    FakeClock clock = new FakeClock();
+    RatePacer pacer = clock.pacer(100, RateUnit.RECORDS_PER_SECOND, RateProfile.SINE, 20, 0);
+    Assert.assertEquals(150d, pacer.rateAt(5), 0.001d);
+    Assert.assertEquals(50d, pacer.rateAt(15), 0.001d);
+    // two full periods
+    acquire(pacer, 4000);
+    Assert.assertEquals(40d, clock.seconds(), 0.1d);
+  }
+
+  @Test
+  public void testBurstIsLimited() throws InterruptedException {
+    FakeClock clock = new FakeClock();
+    RatePacer pacer = clock.pacer(100, RateUnit.RECORDS_PER_SECOND, RateProfile.CONSTANT, 0, 0);
+    acquire(pacer, 100);
+    // fall behind by a minute, only a second worth of records should be generated without waiting
+    clock.advance(TimeUnit.MINUTES.toNanos(1));
+    double before = clock.seconds();
+    acquire(pacer, 200);
+    Assert.assertEquals(before + 1d, clock.seconds(), 0.01d);
+  }
+
+  @Test
+  public void testPoissonArrivals() throws InterruptedException {
+    FakeClock clock = new FakeClock();
+    RatePacer pacer = clock.pacer(100, RateUnit.RECORDS_PER_SECOND, RateProfile.CONSTANT, 0, 0,
+                                  ArrivalProcess.POISSON, 0);
+    // arrivals are irregular, but the average rate is still the target rate
+    acquire(pacer, 100000);
+    Assert.assertEquals(1000d, clock.seconds(), 20d);
+  }
+
+  @Test
+  public void testBurstyArrivals() throws InterruptedException {
+    FakeClock clock = new FakeClock();
+    RatePacer pacer = clock.pacer(100, RateUnit.RECORDS_PER_SECOND, RateProfile.CONSTANT, 0, 0,
+                                  ArrivalProcess.BURSTY, 50);
+    acquire(pacer, 49);
+    Assert.assertEquals(0d, clock.seconds(), 0d);
+    // the last record of the burst waits for the whole burst
+    acquire(pacer, 1);
+    Assert.assertEquals(0.5d, clock.seconds(), 0.01d);
+    acquire(pacer, 950);
+    Assert.assertEquals(10d, clock.seconds(), 0.01d);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRampRequiresDuration() {
+    new RatePacer(100, RateUnit.RECORDS_PER_SECOND, RateProfile.LINEAR, 0, 0, ArrivalProcess.UNIFORM, 0);
+  }
+
+  private static void acquire(RatePacer pacer, int records) throws InterruptedException {
+    for (int i = 0; i < records; i++) {
+      pacer.acquire(1L);
+    }
+  }
+
+  /**
+   * Ticker that only moves forward when the pacer sleeps, or when it is explicitly advanced.
+   */
+  private static class FakeClock extends Ticker {
+    private long nanos;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    void advance(long nanos) {
+      this.nanos += nanos;
+    }
+
+    double seconds() {
+      return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    RatePacer pacer(double rate, RateUnit unit, RateProfile profile, long rampSeconds, int rampSteps) {
+      return pacer(rate, unit, profile, rampSeconds, rampSteps, ArrivalProcess.UNIFORM, 0);
+    }
+
+    RatePacer pacer(double rate, RateUnit unit, RateProfile profile, long rampSeconds, int rampSteps,
+                    ArrivalProcess arrivalProcess, int burstSize) {
+      return new RatePacer(rate, unit, profile, rampSeconds, rampSteps, arrivalProcess, burstSize, this) {
+        @Override
+        void sleep(long nanos) {
+          advance(nanos);
+        }
+      };
+    }
+  }
+}
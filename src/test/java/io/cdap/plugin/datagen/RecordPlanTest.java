@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.datagen.generator.GeneratorType;
+import io.cdap.plugin.datagen.generator.RandomIntGenerator;
+import io.cdap.plugin.datagen.generator.SequentialLongGenerator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link RecordPlan}.
+ */
+public class RecordPlanTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFieldCountMismatch() {
+    createPlan(Schema.recordOf("test", Schema.Field.of("id", Schema.of(Schema.Type.LONG))), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFieldPositionMismatch() {
+    createPlan(Schema.recordOf("test",
+                               Schema.Field.of("age", Schema.of(Schema.Type.INT)),
+                               Schema.Field.of("id", Schema.of(Schema.Type.LONG))), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullableFieldMismatch() {
+    createPlan(Schema.recordOf("test",
+                               Schema.Field.of("id", Schema.of(Schema.Type.LONG)),
+                               Schema.Field.of("age", Schema.of(Schema.Type.INT))), 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFieldTypeMismatch() {
+    createPlan(Schema.recordOf("test",
+                               Schema.Field.of("id", Schema.of(Schema.Type.LONG)),
+                               Schema.Field.of("age", Schema.of(Schema.Type.LONG))), 0);
+  }
+
+  @Test
+  public void testSchemaMatches() {
+    createPlan(Schema.recordOf("test",
+                               Schema.Field.of("id", Schema.of(Schema.Type.LONG)),
+                               Schema.Field.of("age", Schema.nullableOf(Schema.of(Schema.Type.INT)))), 10);
+  }
+
+  /**
+   * Creates a plan for an id and an age field, where the age is null with the given chance.
+   */
+  private static RecordPlan createPlan(Schema schema, int ageNullChance) {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG, 0, new SequentialLongGenerator.Config(1L, 1L)));
+    fields.add(new FieldSpec("age", GeneratorType.RANDOM_INT, ageNullChance, new RandomIntGenerator.Config(18, 100)));
+    return new RecordPlan(schema, fields, new DataGenerator<?>[fields.size()], null, 0);
+  }
+}
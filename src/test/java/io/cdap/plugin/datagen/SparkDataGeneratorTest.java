@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2020 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.datagen;
+
+import com.google.common.collect.Lists;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.plugin.datagen.generator.GeneratorType;
+import io.cdap.plugin.datagen.generator.RandomIntGenerator;
+import io.cdap.plugin.datagen.generator.SequentialLongGenerator;
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link SparkDataGenerator}.
+ */
+public class SparkDataGeneratorTest {
+
+  @Test
+  public void testSplitsMatchInputFormat() throws Exception {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG, 0, new SequentialLongGenerator.Config(1L, 1L)));
+    fields.add(new FieldSpec("age", GeneratorType.RANDOM_INT, 20, new RandomIntGenerator.Config(18, 100)));
+    DataGeneratorSpec spec = new DataGeneratorSpec(3, 5, fields, "test", 7L);
+    SparkDataGenerator.GenerateSplit generateSplit = new SparkDataGenerator.GenerateSplit(spec.encode());
+
+    for (int split = 0; split < spec.getNumSplits(); split++) {
+      FakeDataInputSplit inputSplit = new FakeDataInputSplit(spec, split);
+      FakeDataRecordReader reader = new FakeDataRecordReader();
+      reader.initialize(inputSplit, null);
+      List<StructuredRecord> expected = new ArrayList<>();
+      while (reader.nextKeyValue()) {
+        expected.add(reader.getCurrentValue());
+      }
+      Assert.assertEquals(5, expected.size());
+      Assert.assertEquals(expected, Lists.newArrayList(generateSplit.call((long) split)));
+    }
+  }
+
+  @Test
+  public void testLaterSplitsContinueSequence() throws Exception {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG, 0, new SequentialLongGenerator.Config(1L, 1L)));
+    DataGeneratorSpec spec = new DataGeneratorSpec(3, 5, fields, "test", 7L);
+    SparkDataGenerator.GenerateSplit generateSplit = new SparkDataGenerator.GenerateSplit(spec.encode());
+
+    // splits of the second batch of a stream pick up where the first batch left off
+    long expectedId = 1L;
+    for (long split = 0; split < 2 * spec.getNumSplits(); split++) {
+      for (StructuredRecord record : Lists.newArrayList(generateSplit.call(split))) {
+        Assert.assertEquals(expectedId++, (long) record.<Long>get("id"));
+      }
+    }
+    Assert.assertEquals(31L, expectedId);
+  }
+
+  @Test
+  public void testPartlyReadSplitStopsWorkers() throws Exception {
+    List<FieldSpec> fields = new ArrayList<>();
+    fields.add(new FieldSpec("id", GeneratorType.SEQUENTIAL_LONG, 0, new SequentialLongGenerator.Config(1L, 1L)));
+    DataGeneratorSpec spec = new DataGeneratorSpec(1, 100000, fields, "test", 7L).withGeneratorThreads(3);
+
+    int numWorkers = countWorkerThreads();
+    SparkConf sparkConf = new SparkConf()
+      .setMaster("local[1]")
+      .setAppName("SparkDataGeneratorTest")
+      .set("spark.ui.enabled", "false");
+    JavaSparkContext jsc = new JavaSparkContext(sparkConf);
+    try {
+      // take() stops reading the split after the first records, while the workers are still generating the rest
+      Assert.assertEquals(5, SparkDataGenerator.generate(jsc, spec).take(5).size());
+    } finally {
+      jsc.stop();
+    }
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (countWorkerThreads() > numWorkers && System.nanoTime() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(50);
+    }
+    Assert.assertEquals(numWorkers, countWorkerThreads());
+  }
+
+  private static int countWorkerThreads() {
+    return (int) Thread.getAllStackTraces().keySet().stream()
+      .filter(thread -> thread.isAlive() && thread.getName().startsWith("data-generator-worker-"))
+      .count();
+  }
+}